@@ -0,0 +1,259 @@
+package app;
+
+import app.audio.Collections.Playlist;
+import app.audio.Files.Song;
+import app.player.PlayerSource;
+import app.user.User;
+import app.utils.Enums;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Who is listening to what, kept up to date as players load and drop sources, so
+ * the delete commands do not scan every player. Each key counts the users whose
+ * source refers to it.
+ * <p>
+ * Players are settled lazily, so a source can have ended without its player
+ * knowing yet. Settling only ever drops sources: an empty key is final, while the
+ * listeners of a counted key are settled before the key is read again. With the
+ * listeners.debug property set, every answer is checked against a full scan.
+ */
+public final class ActiveListeners {
+    private static final boolean DEBUG = Boolean.getBoolean("listeners.debug");
+
+    private enum Kind {
+        ALBUM, ARTIST, PODCAST, HOST, PLAYLIST_NAME, PLAYLIST, SONG_ALBUM, SONG_ARTIST
+    }
+
+    private record Key(Kind kind, Object value) {
+    }
+
+    private final Admin admin;
+    private final Map<Kind, Map<Object, Set<User>>> listeners = new EnumMap<>(Kind.class);
+    private final Map<User, List<Key>> keysByUser = new HashMap<>();
+
+    /**
+     * Instantiates new Active listeners.
+     *
+     * @param admin the simulation whose players are counted
+     */
+    public ActiveListeners(final Admin admin) {
+        this.admin = admin;
+        for (Kind kind : Kind.values()) {
+            listeners.put(kind, new HashMap<>());
+        }
+    }
+
+    /**
+     * Is debug boolean.
+     *
+     * @return the boolean
+     */
+    public static boolean isDebug() {
+        return DEBUG;
+    }
+
+    /**
+     * Moves a user's counts from their previous source to their new one.
+     *
+     * @param user   the user
+     * @param source the new source, or null once the player stopped
+     */
+    public void sourceChanged(final User user, final PlayerSource source) {
+        forget(user);
+        List<Key> keys = keysOf(source);
+        if (keys.isEmpty()) {
+            return;
+        }
+        for (Key key : keys) {
+            listeners.get(key.kind()).computeIfAbsent(key.value(), value -> new HashSet<>())
+                    .add(user);
+        }
+        keysByUser.put(user, keys);
+    }
+
+    /**
+     * Drops the counts of a user, for instance a deleted one.
+     *
+     * @param user the user
+     */
+    public void forget(final User user) {
+        List<Key> keys = keysByUser.remove(user);
+        if (keys == null) {
+            return;
+        }
+        for (Key key : keys) {
+            Map<Object, Set<User>> counted = listeners.get(key.kind());
+            Set<User> users = counted.get(key.value());
+            users.remove(user);
+            if (users.isEmpty()) {
+                counted.remove(key.value());
+            }
+        }
+    }
+
+    /**
+     * Forgets every count.
+     */
+    public void clear() {
+        listeners.values().forEach(Map::clear);
+        keysByUser.clear();
+    }
+
+    /**
+     * Checks whether anyone plays an album with this name, a song from such an
+     * album, or a playlist holding one.
+     *
+     * @param title the album name
+     * @return whether anyone is listening
+     */
+    public boolean isPlayingAlbum(final String title) {
+        return checked(() -> listening(Kind.ALBUM, title) || listening(Kind.SONG_ALBUM, title)
+                        || playlistsListening(admin.getReferences().referencedSongsOn(title)),
+                () -> scan(source -> switch (source.getType()) {
+                    case ALBUM -> source.getAudioCollection().getName().equals(title);
+                    case PLAYLIST -> ((Playlist) source.getAudioCollection()).getSongs()
+                            .stream().anyMatch(song -> song.getAlbum().equals(title));
+                    case LIBRARY -> ((Song) source.getAudioFile()).getAlbum().equals(title);
+                    default -> false;
+                }));
+    }
+
+    /**
+     * Checks whether anyone plays an album of this artist, a song with this artist,
+     * or a playlist holding one.
+     *
+     * @param artist the artist name
+     * @return whether anyone is listening
+     */
+    public boolean isPlayingArtist(final String artist) {
+        return checked(() -> listening(Kind.ARTIST, artist)
+                        || listening(Kind.SONG_ARTIST, artist)
+                        || playlistsListening(admin.getReferences().referencedSongsBy(artist)),
+                () -> scan(source -> switch (source.getType()) {
+                    case ALBUM -> source.getAudioCollection().getOwner().equals(artist);
+                    case PLAYLIST -> ((Playlist) source.getAudioCollection()).getSongs()
+                            .stream().anyMatch(song -> song.getArtist().equals(artist));
+                    case LIBRARY -> ((Song) source.getAudioFile()).getArtist().equals(artist);
+                    default -> false;
+                }));
+    }
+
+    /**
+     * Checks whether anyone plays a podcast with this name.
+     *
+     * @param title the podcast name
+     * @return whether anyone is listening
+     */
+    public boolean isPlayingPodcast(final String title) {
+        return checked(() -> listening(Kind.PODCAST, title),
+                () -> scan(source -> source.getType() == Enums.PlayerSourceType.PODCAST
+                        && source.getAudioCollection().getName().equals(title)));
+    }
+
+    /**
+     * Checks whether anyone plays a podcast of this host.
+     *
+     * @param host the host name
+     * @return whether anyone is listening
+     */
+    public boolean isPlayingHost(final String host) {
+        return checked(() -> listening(Kind.HOST, host),
+                () -> scan(source -> source.getType() == Enums.PlayerSourceType.PODCAST
+                        && source.getAudioCollection().getOwner().equals(host)));
+    }
+
+    /**
+     * Checks whether anyone plays a playlist with one of these names.
+     *
+     * @param names the playlist names
+     * @return whether anyone is listening
+     */
+    public boolean isPlayingPlaylistNamed(final Collection<String> names) {
+        return checked(() -> names.stream().anyMatch(name -> listening(Kind.PLAYLIST_NAME, name)),
+                () -> scan(source -> source.getType() == Enums.PlayerSourceType.PLAYLIST
+                        && names.contains(source.getAudioCollection().getName())));
+    }
+
+    private boolean playlistsListening(final List<Song> songs) {
+        for (Song song : songs) {
+            for (Playlist playlist : admin.getReferences().playlistsWith(song)) {
+                if (listening(Kind.PLAYLIST, playlist)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads a key, settling its listeners first: some may have finished their
+     * source since they were last settled.
+     */
+    private boolean listening(final Kind kind, final Object value) {
+        Set<User> users = listeners.get(kind).get(value);
+        if (users == null) {
+            return false;
+        }
+        for (User user : new ArrayList<>(users)) {
+            user.getPlayer();
+        }
+        return listeners.get(kind).containsKey(value);
+    }
+
+    private static boolean checked(final BooleanSupplier counted, final BooleanSupplier scan) {
+        boolean answer = counted.getAsBoolean();
+        if (DEBUG && answer != scan.getAsBoolean()) {
+            throw new IllegalStateException("Listener counts disagree with a full scan");
+        }
+        return answer;
+    }
+
+    private boolean scan(final Predicate<PlayerSource> plays) {
+        for (User user : admin.getUsers()) {
+            PlayerSource source = user.getPlayer().getSource();
+            if (source != null && plays.test(source)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Key> keysOf(final PlayerSource source) {
+        List<Key> keys = new ArrayList<>();
+        if (source == null) {
+            return keys;
+        }
+        switch (source.getType()) {
+            case LIBRARY -> {
+                Song song = (Song) source.getAudioFile();
+                keys.add(new Key(Kind.SONG_ALBUM, song.getAlbum()));
+                keys.add(new Key(Kind.SONG_ARTIST, song.getArtist()));
+            }
+            case PLAYLIST -> {
+                keys.add(new Key(Kind.PLAYLIST_NAME, source.getAudioCollection().getName()));
+                keys.add(new Key(Kind.PLAYLIST, source.getAudioCollection()));
+            }
+            case ALBUM -> {
+                keys.add(new Key(Kind.ALBUM, source.getAudioCollection().getName()));
+                keys.add(new Key(Kind.ARTIST, source.getAudioCollection().getOwner()));
+            }
+            case PODCAST -> {
+                keys.add(new Key(Kind.PODCAST, source.getAudioCollection().getName()));
+                keys.add(new Key(Kind.HOST, source.getAudioCollection().getOwner()));
+            }
+            default -> {
+            }
+        }
+        return keys;
+    }
+}
@@ -5,11 +5,18 @@ import app.audio.Collections.Playlist;
 import app.audio.Collections.Podcast;
 import app.audio.Files.Episode;
 import app.audio.Files.Song;
+import app.searchBar.CreatorIndex;
+import app.searchBar.NameIndex;
+import app.searchBar.SearchCache;
+import app.searchBar.SongIndex;
+import app.user.Account;
 import app.user.Artist;
+import app.user.GenericUser;
 import app.user.Host;
 import app.user.User;
 import app.utils.Constants;
 import app.utils.Enums;
+import app.utils.SymbolTable;
 import fileio.input.EpisodeInput;
 import fileio.input.PodcastInput;
 import fileio.input.SongInput;
@@ -17,10 +24,12 @@ import fileio.input.UserInput;
 import lombok.Getter;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 
 /**
@@ -34,16 +43,47 @@ public final class Admin {
     private List<Artist> artists = new ArrayList<>();
     @Getter
     private List<Host> hosts = new ArrayList<>();
-    private List<Song> songs = new ArrayList<>();
     @Getter
     private List<Podcast> podcasts = new ArrayList<>();
+    private Map<String, Account> accounts = new HashMap<>();
+    private int nextOrdinal = 0;
+    private long nextCatalogOrder = 0;
+    private int nextSongId = 0;
+    @Getter
+    private SongIndex songIndex = new SongIndex();
+    @Getter
+    private SymbolTable symbols = new SymbolTable();
+    @Getter
+    private final NameIndex<Album> albumNames = new NameIndex<>();
+    @Getter
+    private final NameIndex<Playlist> playlistNames = new NameIndex<>();
+    @Getter
+    private final NameIndex<Podcast> podcastNames = new NameIndex<>();
+    @Getter
+    private final CreatorIndex artistNames = new CreatorIndex();
+    @Getter
+    private final CreatorIndex hostNames = new CreatorIndex();
+    @Getter
+    private final Leaderboards leaderboards = new Leaderboards();
+    @Getter
+    private final ReferenceGraph references = new ReferenceGraph();
+    @Getter
+    private final ActiveListeners listeners = new ActiveListeners(this);
+    private final Map<String, Long> catalogVersions = new HashMap<>();
+    @Getter
+    private final SearchCache searchCache = new SearchCache(Constants.SEARCH_CACHE_SIZE);
     private int timestamp = 0;
+    private final TreeSet<Integer> offlineOrdinals = new TreeSet<>();
 
-    private Admin() {
+    /**
+     * Instantiates a new, empty simulation. Each one is independent, so several can
+     * run side by side as long as each is used by one thread at a time.
+     */
+    public Admin() {
     }
 
     /**
-     * Gets the admin instance.
+     * Gets the default simulation, for callers that run a single one.
      *
      * @return instance
      */
@@ -60,10 +100,63 @@ public final class Admin {
      * @param userInputList the user input list
      */
     public void setUsers(final List<UserInput> userInputList) {
+        for (User user : users) {
+            accounts.remove(user.getUsername());
+        }
+
         users = new ArrayList<>();
         for (UserInput userInput : userInputList) {
-            users.add(new User(userInput.getUsername(), userInput.getAge(), userInput.getCity()));
+            User user = new User(this, userInput.getUsername(), userInput.getAge(),
+                    userInput.getCity());
+            users.add(user);
+            register(user, Enums.AccountType.USER);
+        }
+    }
+
+    private void register(final GenericUser user, final Enums.AccountType type) {
+        Account account = new Account(user, type, nextOrdinal++);
+        accounts.put(user.getUsername(), account);
+        if (type == Enums.AccountType.ARTIST) {
+            artistNames.add(account);
+            leaderboards.addArtist(account);
+        } else if (type == Enums.AccountType.HOST) {
+            hostNames.add(account);
+        }
+    }
+
+    /**
+     * Orders a collection after its owner's position in the user lists, then by creation.
+     */
+    private long collectionOrder(final String owner) {
+        return ((long) accounts.get(owner).getOrdinal() << Integer.SIZE) | nextCatalogOrder++;
+    }
+
+    /**
+     * Gets the version of a searchable catalog. It changes whenever something a
+     * search of that type could match on changes.
+     *
+     * @param type the search type
+     * @return the version
+     */
+    public long getCatalogVersion(final String type) {
+        return catalogVersions.getOrDefault(type, 0L);
+    }
+
+    /**
+     * Marks a searchable catalog as changed.
+     *
+     * @param type the search type
+     */
+    public void touchCatalog(final String type) {
+        catalogVersions.merge(type, 1L, Long::sum);
+    }
+
+    private GenericUser lookup(final String username, final Enums.AccountType type) {
+        Account account = accounts.get(username);
+        if (account == null || !account.is(type)) {
+            return null;
         }
+        return account.getUser();
     }
 
     /**
@@ -72,29 +165,29 @@ public final class Admin {
      * @param userInput the user input
      */
     public String addUser(final UserInput userInput, final String type) {
-        String message = "";
-        if (users.stream().anyMatch(user ->
-                user.getUsername().equals(userInput.getUsername()))
-                || artists.stream().anyMatch(artist ->
-                    artist.getUsername().equals(userInput.getUsername()))
-                || hosts.stream().anyMatch(host ->
-                    host.getUsername().equals(userInput.getUsername()))) {
+        if (accounts.containsKey(userInput.getUsername())) {
             return "The username %s is already taken.".formatted(userInput.getUsername());
         }
 
         if (type.equals("user")) {
-            users.add(new User(userInput.getUsername(), userInput.getAge(),
-                    userInput.getCity()));
+            User user = new User(this, userInput.getUsername(), userInput.getAge(),
+                    userInput.getCity());
+            users.add(user);
+            register(user, Enums.AccountType.USER);
         }
 
         if (type.equals("artist")) {
-            artists.add(new Artist(userInput.getUsername(), userInput.getAge(),
-                    userInput.getCity()));
+            Artist artist = new Artist(this, userInput.getUsername(), userInput.getAge(),
+                    userInput.getCity());
+            artists.add(artist);
+            register(artist, Enums.AccountType.ARTIST);
         }
 
         if (type.equals("host")) {
-            hosts.add(new Host(userInput.getUsername(), userInput.getAge(),
-                    userInput.getCity()));
+            Host host = new Host(this, userInput.getUsername(), userInput.getAge(),
+                    userInput.getCity());
+            hosts.add(host);
+            register(host, Enums.AccountType.HOST);
         }
 
         return "The username %s has been added successfully.".formatted(userInput.getUsername());
@@ -106,11 +199,12 @@ public final class Admin {
      * @param songInputList the song input list
      */
     public void setSongs(final List<SongInput> songInputList) {
-        songs = new ArrayList<>();
+        leaderboards.clearSongs();
+        songIndex.clear();
         for (SongInput songInput : songInputList) {
-            songs.add(new Song(songInput.getName(), songInput.getDuration(), songInput.getAlbum(),
-                    songInput.getTags(), songInput.getLyrics(), songInput.getGenre(),
-                    songInput.getReleaseYear(), songInput.getArtist()));
+            addSongs(new Song(symbols, songInput.getName(), songInput.getDuration(),
+                    songInput.getAlbum(), songInput.getTags(), songInput.getLyrics(),
+                    songInput.getGenre(), songInput.getReleaseYear(), songInput.getArtist()));
         }
     }
 
@@ -120,7 +214,9 @@ public final class Admin {
      * @param song the sing to be added.
      */
     public void addSongs(final Song song) {
-        songs.add(song);
+        song.setCatalogOrder(nextSongId++);
+        songIndex.add(song);
+        touchCatalog("song");
     }
 
     /**
@@ -130,6 +226,7 @@ public final class Admin {
      */
     public void setPodcasts(final List<PodcastInput> podcastInputList) {
         podcasts = new ArrayList<>();
+        podcastNames.clear();
         for (PodcastInput podcastInput : podcastInputList) {
             List<Episode> episodes = new ArrayList<>();
             for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
@@ -137,7 +234,35 @@ public final class Admin {
                                          episodeInput.getDuration(),
                                          episodeInput.getDescription()));
             }
-            podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(), episodes));
+            addPodcast(new Podcast(podcastInput.getName(), podcastInput.getOwner(), episodes));
+        }
+    }
+
+    /**
+     * Loads a parsed library. The song index is forked from the catalog's frozen
+     * one, which copies a song for this run only when the run first gets it, while
+     * the podcasts are copied up front.
+     *
+     * @param catalog the library catalog
+     */
+    public void load(final LibraryCatalog catalog) {
+        setUsers(catalog.getUsers());
+
+        leaderboards.clearSongs();
+        symbols = catalog.getSymbols().fork();
+        nextSongId = catalog.getSongs().size();
+        songIndex = catalog.getSongIndex().fork(prototype -> {
+            Song song = new Song(prototype);
+            song.setCatalogOrder(prototype.getCatalogOrder());
+            return song;
+        });
+        touchCatalog("song");
+
+        podcasts = new ArrayList<>();
+        podcastNames.clear();
+        for (Podcast prototype : catalog.getPodcasts()) {
+            addPodcast(new Podcast(prototype.getName(), prototype.getOwner(),
+                                   prototype.getEpisodes()));
         }
     }
 
@@ -147,14 +272,53 @@ public final class Admin {
      * @return the songs
      */
     public List<Song> getSongs() {
-        return new ArrayList<>(songs);
+        return songIndex.getSongs();
     }
 
     /**
      * Adds a new podcast to the list.
      */
     public void addPodcast(final Podcast podcast) {
+        podcast.setCatalogOrder(nextCatalogOrder++);
         podcasts.add(podcast);
+        podcastNames.add(podcast);
+        touchCatalog("podcast");
+    }
+
+    /**
+     * Indexes a newly created playlist.
+     *
+     * @param playlist the playlist
+     */
+    public void addPlaylist(final Playlist playlist) {
+        playlist.setCatalogOrder(collectionOrder(playlist.getOwner()));
+        playlistNames.add(playlist);
+        leaderboards.addPlaylist(playlist);
+        touchCatalog("playlist");
+    }
+
+    /**
+     * Indexes a newly added album.
+     *
+     * @param album the album
+     */
+    public void addAlbum(final Album album) {
+        album.setCatalogOrder(collectionOrder(album.getOwner()));
+        albumNames.add(album);
+        leaderboards.addAlbum(album, accounts.get(album.getOwner()));
+        touchCatalog("album");
+    }
+
+    /**
+     * Drops a removed album from the indexes.
+     *
+     * @param album the album
+     */
+    public void removeAlbum(final Album album) {
+        albumNames.remove(album);
+        leaderboards.removeAlbum(album);
+        album.detachSongs();
+        touchCatalog("album");
     }
 
     /**
@@ -190,12 +354,7 @@ public final class Admin {
      * @return the user
      */
     public User getUser(final String username) {
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                return user;
-            }
-        }
-        return null;
+        return (User) lookup(username, Enums.AccountType.USER);
     }
 
     /**
@@ -205,12 +364,7 @@ public final class Admin {
      * @return the artist
      */
     public Artist getArtist(final String username) {
-        for (Artist artist : artists) {
-            if (artist.getUsername().equals(username)) {
-                return artist;
-            }
-        }
-        return null;
+        return (Artist) lookup(username, Enums.AccountType.ARTIST);
     }
 
     /**
@@ -220,12 +374,7 @@ public final class Admin {
      * @return the host
      */
     public Host getHost(final String username) {
-        for (Host host : hosts) {
-            if (host.getUsername().equals(username)) {
-                return host;
-            }
-        }
-        return null;
+        return (Host) lookup(username, Enums.AccountType.HOST);
     }
 
     /**
@@ -234,19 +383,85 @@ public final class Admin {
      * @param newTimestamp the new timestamp
      */
     public void updateTimestamp(final int newTimestamp) {
-        int elapsed = newTimestamp - timestamp;
+        // Players catch up lazily, see settle.
         timestamp = newTimestamp;
-        if (elapsed == 0) {
+    }
+
+    /**
+     * Brings a user's player up to the current timestamp. Time only plays for the
+     * users listed before the first offline one; the others stay frozen.
+     *
+     * @param user the user
+     */
+    public void settle(final User user) {
+        settle(user, firstOffline());
+    }
+
+    private void settle(final User user, final int firstOffline) {
+        Account account = accounts.get(user.getUsername());
+        boolean advancing = account != null && account.getUser() == user
+                && account.getOrdinal() < firstOffline;
+        user.settle(timestamp, advancing);
+    }
+
+    private int firstOffline() {
+        return offlineOrdinals.isEmpty() ? Integer.MAX_VALUE : offlineOrdinals.first();
+    }
+
+    /**
+     * Records a user's new connection status. The users whose clocks start or stop
+     * running because of it are settled first.
+     *
+     * @param user the user
+     */
+    public void connectionSwitched(final User user) {
+        Account account = accounts.get(user.getUsername());
+        if (account == null || account.getUser() != user) {
             return;
         }
 
-        for (User user : users) {
-            if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
-                return;
+        markOffline(account, user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE);
+    }
+
+    private void markOffline(final Account account, final boolean offline) {
+        int before = firstOffline();
+        if (offline) {
+            offlineOrdinals.add(account.getOrdinal());
+        } else {
+            offlineOrdinals.remove(account.getOrdinal());
+        }
+
+        int after = firstOffline();
+        if (before == after) {
+            return;
+        }
+
+        int from = Math.min(before, after);
+        int to = Math.max(before, after);
+        for (int i = firstUserFrom(from); i < users.size(); i++) {
+            User user = users.get(i);
+            if (accounts.get(user.getUsername()).getOrdinal() >= to) {
+                break;
+            }
+            settle(user, before);
+        }
+    }
+
+    /**
+     * Finds the position of the first user whose ordinal is at least the given one.
+     */
+    private int firstUserFrom(final int ordinal) {
+        int low = 0;
+        int high = users.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (accounts.get(users.get(middle).getUsername()).getOrdinal() < ordinal) {
+                low = middle + 1;
             } else {
-                user.simulateTime(elapsed);
+                high = middle;
             }
         }
+        return low;
     }
 
     /**
@@ -255,18 +470,7 @@ public final class Admin {
      * @return the top 5 songs
      */
     public List<String> getTop5Songs() {
-        List<Song> sortedSongs = new ArrayList<>(songs);
-        sortedSongs.sort(Comparator.comparingInt(Song::getLikes).reversed());
-        List<String> topSongs = new ArrayList<>();
-        int count = 0;
-        for (Song song : sortedSongs) {
-            if (count >= Constants.LIMIT) {
-                break;
-            }
-            topSongs.add(song.getName());
-            count++;
-        }
-        return topSongs;
+        return leaderboards.topSongs(songIndex);
     }
 
     /**
@@ -275,14 +479,7 @@ public final class Admin {
      * @return the top 5 albums
      */
     public List<String> getTop5Albums() {
-        return getAlbums().stream()
-                .sorted(Comparator
-                        .comparingInt(Album::getCombinedLikes)
-                        .reversed()
-                        .thenComparing(Comparator.comparing(Album::getName)))
-                .limit(Constants.LIMIT)
-                .map(Album::getName)
-                .toList();
+        return leaderboards.topAlbums();
     }
 
     /**
@@ -291,20 +488,7 @@ public final class Admin {
      * @return the top 5 artists
      */
     public List<String> getTop5Artists() {
-        HashMap<String, Integer> artistLikes = new HashMap<>();
-        for (Artist artist : artists) {
-            int combinedLikes = 0;
-            for (Album album : artist.getAlbums()) {
-                combinedLikes += album.getCombinedLikes();
-            }
-            artistLikes.put(artist.getUsername(), combinedLikes);
-        }
-
-        return artistLikes.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(Constants.LIMIT)
-                .map(Map.Entry::getKey)
-                .toList();
+        return leaderboards.topArtists();
     }
 
     /**
@@ -313,20 +497,7 @@ public final class Admin {
      * @return the top 5 playlists
      */
     public List<String> getTop5Playlists() {
-        List<Playlist> sortedPlaylists = new ArrayList<>(getPlaylists());
-        sortedPlaylists.sort(Comparator.comparingInt(Playlist::getFollowers)
-                .reversed()
-                .thenComparing(Playlist::getTimestamp, Comparator.naturalOrder()));
-        List<String> topPlaylists = new ArrayList<>();
-        int count = 0;
-        for (Playlist playlist : sortedPlaylists) {
-            if (count >= Constants.LIMIT) {
-                break;
-            }
-            topPlaylists.add(playlist.getName());
-            count++;
-        }
-        return topPlaylists;
+        return leaderboards.topPlaylists();
     }
 
     /**
@@ -336,8 +507,24 @@ public final class Admin {
         users = new ArrayList<>();
         artists = new ArrayList<>();
         hosts = new ArrayList<>();
-        songs = new ArrayList<>();
         podcasts = new ArrayList<>();
+        accounts = new HashMap<>();
+        nextOrdinal = 0;
+        nextCatalogOrder = 0;
+        nextSongId = 0;
+        songIndex = new SongIndex();
+        symbols = new SymbolTable();
+        albumNames.clear();
+        playlistNames.clear();
+        podcastNames.clear();
+        artistNames.clear();
+        hostNames.clear();
+        leaderboards.clear();
+        references.clear();
+        listeners.clear();
+        offlineOrdinals.clear();
+        catalogVersions.clear();
+        searchCache.clear();
         timestamp = 0;
     }
 
@@ -385,130 +572,111 @@ public final class Admin {
      * @return command status
      */
     public String deleteUser(final String username) {
-        //Get the users that play sth.
-        List<User> playingUsers = new ArrayList<>();
-        for (User allUsers : users) {
-            if (allUsers.getPlayer().getSource() != null) {
-                playingUsers.add(allUsers);
-            }
-        }
-
-        if (users.stream()
-                .anyMatch(user -> user.getUsername().equals(username))) {
-            User user = Admin.getInstance().getUser(username);
+        User user = getUser(username);
+        if (user != null) {
             ArrayList<Playlist> userPlaylists = user.getPlaylists();
 
-            for (User auxiliaryUser : playingUsers) {
-                if (auxiliaryUser.getPlayer().getSource().getType()
-                        .equals(Enums.PlayerSourceType.PLAYLIST)) {
-                    for (Playlist playlist : user.getPlaylists()) {
-                        if (auxiliaryUser.getPlayer().getSource().getAudioCollection().getName()
-                                .equals(playlist.getName())) {
-                            return "%s can't be deleted.".formatted(username);
-                        }
-                    }
-                }
+            List<String> playlistNamesOfUser = new ArrayList<>();
+            for (Playlist playlist : userPlaylists) {
+                playlistNamesOfUser.add(playlist.getName());
+            }
+            if (listeners.isPlayingPlaylistNamed(playlistNamesOfUser)) {
+                return "%s can't be deleted.".formatted(username);
             }
 
             //if no one listens to a playlist owned by the user, we remove him.
             for (Song song : user.getLikedSongs()) {
                 song.dislike();
+                leaderboards.songLiked(song);
             }
 
             for (Playlist playlist : user.getFollowedPlaylists()) {
                 playlist.decreaseFollowers();
+                leaderboards.playlistFollowed(playlist, -1);
             }
 
-            for (User user2 : Admin.getInstance().getUsers()) {
-                user2.getFollowedPlaylists().removeIf(playlist
-                        -> playlist.getOwner().equals(username));
+            for (Playlist playlist : userPlaylists) {
+                for (User follower : references.followersOf(playlist)) {
+                    follower.getFollowedPlaylists().remove(playlist);
+                }
+                playlistNames.remove(playlist);
+                leaderboards.removePlaylist(playlist);
+                playlist.detachSongs();
             }
-
-            Admin.getInstance().getPlaylists().removeIf(playlist
-                    -> playlist.getOwner().equals(username));
-            Admin.getInstance().getUsers().removeIf(user1 -> user1.getUsername().equals(username));
+            references.forgetUser(user);
+            listeners.forget(user);
+            touchCatalog("playlist");
+            Account account = accounts.get(username);
+            markOffline(account, false);
+            users.remove(user);
+            accounts.remove(username);
             return "%s was successfully deleted.".formatted(username);
         }
 
         //If user to be deleted is an artist :D
-        if (Admin.getInstance().getArtists().stream()
-                .anyMatch(artist -> artist.getUsername().equals(username))) {
-
-            for (User auxiliaryUser : playingUsers) {
-                if (auxiliaryUser.getPlayer().getSource().getType()
-                        .equals(Enums.PlayerSourceType.ALBUM)) {
-                    //Modded.
-                    if (auxiliaryUser.getPlayer().getSource()
-                            .getAudioCollection().getOwner().equals(username)) {
-                        return "%s can't be deleted.".formatted(username);
-                    }
-                }
-
-                if (auxiliaryUser.getPlayer().getSource().getType()
-                        .equals(Enums.PlayerSourceType.PLAYLIST)) {
-                    for (Song song : ((Playlist) auxiliaryUser.getPlayer().getSource()
-                            .getAudioCollection()).getSongs()) {
-                        if (song.getArtist().equals(username)) {
-                            return "%s can't be deleted.".formatted(username);
-                        }
-                    }
-                }
-
-                if (auxiliaryUser.getPlayer().getSource().getType()
-                        .equals(Enums.PlayerSourceType.LIBRARY)) {
-                    if (((Song) auxiliaryUser.getPlayer().getSource().getAudioFile()).getArtist()
-                            .equals(username)) {
-                        return "%s can't be deleted.".formatted(username);
-                    }
-                }
-
-                if (auxiliaryUser.getCreatorName().equals(username)) {
-                    return "%s can't be deleted.".formatted(username);
-                }
+        Artist artist = getArtist(username);
+        if (artist != null) {
+            if (listeners.isPlayingArtist(username)) {
+                return "%s can't be deleted.".formatted(username);
             }
 
             //Check if a user is on artist's page
-            for (User user : users) {
-                if (user.getCreatorName().equals(username)) {
+            for (User auxiliaryUser : users) {
+                if (auxiliaryUser.getCreatorName().equals(username)) {
                     return "%s can't be deleted.".formatted(username);
                 }
             }
 
             //If no one listens to song/Album we can remove him.
-            songs.removeIf(song -> song.getArtist().equals(username));
-            artists.removeIf(artist -> artist.getUsername().equals(username));
+            for (Song song : songIndex.withArtist(username)) {
+                if (song.getArtist().equals(username)) {
+                    songIndex.remove(song);
+                    leaderboards.removeSong(song);
+                }
+            }
+            for (Album album : artist.getAlbums()) {
+                albumNames.remove(album);
+                leaderboards.removeAlbum(album);
+                album.detachSongs();
+            }
+            touchCatalog("song");
+            touchCatalog("album");
+            artists.remove(artist);
+            Account account = accounts.remove(username);
+            artistNames.remove(account);
+            leaderboards.removeArtist(account);
 
             //Update stuff for users :D
-            for (User user : users) {
-                user.getLikedSongs().removeIf(song -> song.getArtist().equals(username));
-                for (Playlist playlist : user.getPlaylists()) {
-                    playlist.getSongs().removeIf(song -> song.getArtist().equals(username));
+            Set<Playlist> holders = new HashSet<>();
+            for (Song song : references.referencedSongsBy(username)) {
+                for (User liker : references.likersOf(song)) {
+                    liker.dropLikedSong(song);
                 }
+                holders.addAll(references.playlistsWith(song));
+                references.forgetSong(song);
+            }
+            for (Playlist playlist : holders) {
+                playlist.removeSongs(song -> song.getArtist().equals(username));
             }
             return "%s was successfully deleted.".formatted(username);
         }
 
         //If user to be deleted is a host :D
-        if (Admin.getInstance().getHosts().stream()
-                .anyMatch(host -> host.getUsername().equals(username))) {
-            for (User auxiliaryUser : playingUsers) {
-                if (auxiliaryUser.getPlayer().getSource().getType()
-                        .equals(Enums.PlayerSourceType.PODCAST)) {
-                    if (auxiliaryUser.getPlayer().getSource()
-                            .getAudioCollection().getOwner().equals(username)) {
-                        return "%s can't be deleted.".formatted(username);
-                    }
-                }
+        Host host = getHost(username);
+        if (host != null) {
+            if (listeners.isPlayingHost(username)) {
+                return "%s can't be deleted.".formatted(username);
             }
 
             //Check if a user is on host's page
-            for (User user : users) {
-                if (user.getCreatorName().equals(username)) {
+            for (User auxiliaryUser : users) {
+                if (auxiliaryUser.getCreatorName().equals(username)) {
                     return "%s can't be deleted.".formatted(username);
                 }
             }
 
-            Admin.getInstance().getHosts().removeIf(host -> host.getUsername().equals(username));
+            hosts.remove(host);
+            hostNames.remove(accounts.remove(username));
             return "%s was successfully deleted.".formatted(username);
         }
 
@@ -522,12 +690,7 @@ public final class Admin {
      * @return the boolean
      */
     public boolean doesExist(final String username) {
-        return Admin.getInstance().users.stream()
-                .anyMatch(user -> user.getUsername().equals(username))
-                || Admin.getInstance().artists.stream()
-                .anyMatch(artist -> artist.getUsername().equals(username))
-                || Admin.getInstance().hosts.stream()
-                .anyMatch(host -> host.getUsername().equals(username));
+        return accounts.containsKey(username);
     }
 
     /**
@@ -537,10 +700,8 @@ public final class Admin {
      * @return the boolean
      */
     public boolean isUser(final String username) {
-        return !(Admin.getInstance().artists.stream()
-                .anyMatch(artist -> artist.getUsername().equals(username))
-                || Admin.getInstance().hosts.stream()
-                .anyMatch(host -> host.getUsername().equals(username)));
+        Account account = accounts.get(username);
+        return account == null || account.is(Enums.AccountType.USER);
     }
 
     /**
@@ -550,10 +711,8 @@ public final class Admin {
      * @return the boolean
      */
     public boolean isArtist(final String username) {
-        return !(Admin.getInstance().users.stream()
-                .anyMatch(user -> user.getUsername().equals(username))
-                || Admin.getInstance().hosts.stream()
-                .anyMatch(host -> host.getUsername().equals(username)));
+        Account account = accounts.get(username);
+        return account == null || account.is(Enums.AccountType.ARTIST);
     }
 
     /**
@@ -563,9 +722,7 @@ public final class Admin {
      * @return the boolean
      */
     public boolean isHost(final String username) {
-        return !(Admin.getInstance().users.stream()
-                .anyMatch(user -> user.getUsername().equals(username))
-                || Admin.getInstance().artists.stream()
-                .anyMatch(artist -> artist.getUsername().equals(username)));
+        Account account = accounts.get(username);
+        return account == null || account.is(Enums.AccountType.HOST);
     }
 }
@@ -32,7 +32,15 @@ public final class CommandRunner {
      */
     private static ObjectMapper objectMapper = new ObjectMapper();
 
-    private CommandRunner() {
+    private final Admin admin;
+
+    /**
+     * Instantiates a new Command runner.
+     *
+     * @param admin the simulation the commands run in
+     */
+    public CommandRunner(final Admin admin) {
+        this.admin = admin;
     }
 
     /**
@@ -41,8 +49,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode search(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode search(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
         ArrayList<String> results = new ArrayList<>();
 
@@ -81,8 +89,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode select(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode select(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -120,8 +128,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode load(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode load(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -148,8 +156,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode playPause(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode playPause(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -177,8 +185,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode repeat(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode repeat(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -206,8 +214,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode shuffle(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode shuffle(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -236,8 +244,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode forward(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode forward(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -265,8 +273,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode backward(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode backward(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -294,8 +302,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode like(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode like(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -323,8 +331,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode next(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode next(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -352,8 +360,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode prev(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode prev(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -381,8 +389,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode createPlaylist(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode createPlaylist(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -411,8 +419,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode addRemoveInPlaylist(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode addRemoveInPlaylist(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -440,8 +448,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode switchVisibility(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode switchVisibility(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -469,8 +477,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode showPlaylists(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode showPlaylists(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ArrayList<PlaylistOutput> playlists = user.showPlaylists();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -488,8 +496,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode showPodcasts(final CommandInput commandInput) {
-        Host host = Admin.getInstance().getHost(commandInput.getUsername());
+    public ObjectNode showPodcasts(final CommandInput commandInput) {
+        Host host = admin.getHost(commandInput.getUsername());
         ArrayList<PodcastOutput> podcasts = host.showPodcasts();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -507,8 +515,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode follow(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode follow(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         if (user.getConnectionStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -536,8 +544,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode status(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode status(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         PlayerStats stats = user.getPlayerStats();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -555,8 +563,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode showLikedSongs(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode showLikedSongs(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ArrayList<String> songs = user.showPreferredSongs();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -574,8 +582,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the preferred genre
      */
-    public static ObjectNode getPreferredGenre(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode getPreferredGenre(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String preferredGenre = user.getPreferredGenre();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -593,8 +601,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the top 5 songs
      */
-    public static ObjectNode getTop5Songs(final CommandInput commandInput) {
-        List<String> songs = Admin.getInstance().getTop5Songs();
+    public ObjectNode getTop5Songs(final CommandInput commandInput) {
+        List<String> songs = admin.getTop5Songs();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -610,8 +618,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the top 5 playlists
      */
-    public static ObjectNode getTop5Playlists(final CommandInput commandInput) {
-        List<String> playlists = Admin.getInstance().getTop5Playlists();
+    public ObjectNode getTop5Playlists(final CommandInput commandInput) {
+        List<String> playlists = admin.getTop5Playlists();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -627,10 +635,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode switchConnectionStatus(final CommandInput commandInput) {
+    public ObjectNode switchConnectionStatus(final CommandInput commandInput) {
         ObjectNode objectNode = objectMapper.createObjectNode();
         String message;
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -640,7 +648,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isUser(commandInput.getUsername())) {
+        if (!admin.isUser(commandInput.getUsername())) {
             message = "%s is not a normal user.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -650,7 +658,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+        User user = admin.getUser(commandInput.getUsername());
         message = user.switchConnectionStatus();
 
         objectNode.put("command", commandInput.getCommand());
@@ -667,8 +675,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the online users
      */
-    public static ObjectNode getOnlineUsers(final CommandInput commandInput) {
-        List<String> onlineUsers = Admin.getInstance().getOnlineUsers();
+    public ObjectNode getOnlineUsers(final CommandInput commandInput) {
+        List<String> onlineUsers = admin.getOnlineUsers();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -684,13 +692,13 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode addUser(final CommandInput commandInput) {
+    public ObjectNode addUser(final CommandInput commandInput) {
         UserInput userInput = new UserInput();
         userInput.setUsername(commandInput.getUsername());
         userInput.setAge(commandInput.getAge());
         userInput.setCity(commandInput.getCity());
 
-        String message = Admin.getInstance().addUser(userInput, commandInput.getType());
+        String message = admin.addUser(userInput, commandInput.getType());
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -707,10 +715,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode addAlbum(final CommandInput commandInput) {
+    public ObjectNode addAlbum(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -720,7 +728,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isArtist(commandInput.getUsername())) {
+        if (!admin.isArtist(commandInput.getUsername())) {
             message = "%s is not an artist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -733,12 +741,13 @@ public final class CommandRunner {
         Album album = new Album(commandInput.getName(), commandInput.getUsername(),
                 commandInput.getDescription(), commandInput.getReleaseYear());
         for (SongInput songInput : commandInput.getSongs()) {
-            album.getSongs().add(new Song(songInput.getName(), songInput.getDuration(),
-                    songInput.getAlbum(), songInput.getTags(), songInput.getLyrics(),
-                    songInput.getGenre(), songInput.getReleaseYear(), songInput.getArtist()));
+            album.addSong(new Song(admin.getSymbols(), songInput.getName(),
+                    songInput.getDuration(), songInput.getAlbum(), songInput.getTags(),
+                    songInput.getLyrics(), songInput.getGenre(), songInput.getReleaseYear(),
+                    songInput.getArtist()));
         }
 
-        Artist artist = Admin.getInstance().getArtist(commandInput.getUsername());
+        Artist artist = admin.getArtist(commandInput.getUsername());
         message = artist.addAlbum(album);
         objectNode.put("command", commandInput.getCommand());
         objectNode.put("user", commandInput.getUsername());
@@ -754,8 +763,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the Albums
      */
-    public static ObjectNode showAlbums(final CommandInput commandInput) {
-        Artist artist = Admin.getInstance().getArtist(commandInput.getUsername());
+    public ObjectNode showAlbums(final CommandInput commandInput) {
+        Artist artist = admin.getArtist(commandInput.getUsername());
 
         ObjectNode objectNode = objectMapper.createObjectNode();
 
@@ -778,8 +787,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the page details
      */
-    public static ObjectNode printCurrentPage(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode printCurrentPage(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ObjectNode objectNode = objectMapper.createObjectNode();
 
         String message = user.printCurrentPage();
@@ -797,10 +806,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode addEvent(final CommandInput commandInput) {
+    public ObjectNode addEvent(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -810,7 +819,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isArtist(commandInput.getUsername())) {
+        if (!admin.isArtist(commandInput.getUsername())) {
             message = "%s is not an artist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -820,7 +829,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        Artist artist = Admin.getInstance().getArtist(commandInput.getUsername());
+        Artist artist = admin.getArtist(commandInput.getUsername());
         message = artist.addEvent(commandInput.getName(),
                 commandInput.getDescription(), commandInput.getDate());
         objectNode.put("command", commandInput.getCommand());
@@ -837,10 +846,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode addMerch(final CommandInput commandInput) {
+    public ObjectNode addMerch(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -850,7 +859,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isArtist(commandInput.getUsername())) {
+        if (!admin.isArtist(commandInput.getUsername())) {
             message = "%s is not an artist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -860,7 +869,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        Artist artist = Admin.getInstance().getArtist(commandInput.getUsername());
+        Artist artist = admin.getArtist(commandInput.getUsername());
         message = artist.addMerch(commandInput.getName(), commandInput.getDescription(),
                 commandInput.getPrice());
         objectNode.put("command", commandInput.getCommand());
@@ -877,8 +886,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the online users
      */
-    public static ObjectNode getAllUsers(final CommandInput commandInput) {
-        List<String> allUsers = Admin.getInstance().getAllUsers();
+    public ObjectNode getAllUsers(final CommandInput commandInput) {
+        List<String> allUsers = admin.getAllUsers();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
 
@@ -895,10 +904,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode deleteUser(final CommandInput commandInput) {
+    public ObjectNode deleteUser(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -907,7 +916,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        message = Admin.getInstance().deleteUser(commandInput.getUsername());
+        message = admin.deleteUser(commandInput.getUsername());
         objectNode.put("command", commandInput.getCommand());
         objectNode.put("user", commandInput.getUsername());
         objectNode.put("timestamp", commandInput.getTimestamp());
@@ -921,10 +930,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode addAPodcast(final CommandInput commandInput) {
+    public ObjectNode addAPodcast(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -934,7 +943,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isHost(commandInput.getUsername())) {
+        if (!admin.isHost(commandInput.getUsername())) {
             message = "%s is not a host.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -954,7 +963,7 @@ public final class CommandRunner {
         //Create the podcast
         Podcast podcast = new Podcast(commandInput.getName(), commandInput.getUsername(), episodes);
 
-        Host host = Admin.getInstance().getHost(commandInput.getUsername());
+        Host host = admin.getHost(commandInput.getUsername());
         message = host.addPodcast(podcast);
         objectNode.put("command", commandInput.getCommand());
         objectNode.put("user", commandInput.getUsername());
@@ -970,10 +979,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode addAnnouncement(final CommandInput commandInput) {
+    public ObjectNode addAnnouncement(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -983,7 +992,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isHost(commandInput.getUsername())) {
+        if (!admin.isHost(commandInput.getUsername())) {
             message = "%s is not a host.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -993,7 +1002,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        Host host = Admin.getInstance().getHost(commandInput.getUsername());
+        Host host = admin.getHost(commandInput.getUsername());
         message = host.addAnnouncement(commandInput.getName(),
                 commandInput.getDescription());
         objectNode.put("command", commandInput.getCommand());
@@ -1010,10 +1019,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode removeAnnouncement(final CommandInput commandInput) {
+    public ObjectNode removeAnnouncement(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1024,7 +1033,7 @@ public final class CommandRunner {
         }
 
 
-        if (!Admin.getInstance().isHost(commandInput.getUsername())) {
+        if (!admin.isHost(commandInput.getUsername())) {
             message = "%s is not a host.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1034,7 +1043,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        Host host = Admin.getInstance().getHost(commandInput.getUsername());
+        Host host = admin.getHost(commandInput.getUsername());
         message = host.removeAnnouncement(commandInput.getName());
         objectNode.put("command", commandInput.getCommand());
         objectNode.put("user", commandInput.getUsername());
@@ -1050,10 +1059,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode removeAlbum(final CommandInput commandInput) {
+    public ObjectNode removeAlbum(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1063,7 +1072,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isArtist(commandInput.getUsername())) {
+        if (!admin.isArtist(commandInput.getUsername())) {
             message = "%s is not an artist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1073,7 +1082,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        Artist artist = Admin.getInstance().getArtist(commandInput.getUsername());
+        Artist artist = admin.getArtist(commandInput.getUsername());
         message = artist.removeAlbum(commandInput.getName());
         objectNode.put("command", commandInput.getCommand());
         objectNode.put("user", commandInput.getUsername());
@@ -1089,8 +1098,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode changePage(final CommandInput commandInput) {
-        User user = Admin.getInstance().getUser(commandInput.getUsername());
+    public ObjectNode changePage(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.changePage(commandInput.getNextPage());
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -1108,10 +1117,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode removePodcast(final CommandInput commandInput) {
+    public ObjectNode removePodcast(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1121,7 +1130,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isHost(commandInput.getUsername())) {
+        if (!admin.isHost(commandInput.getUsername())) {
             message = "%s is not a host.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1131,7 +1140,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        Host host = Admin.getInstance().getHost(commandInput.getUsername());
+        Host host = admin.getHost(commandInput.getUsername());
         message = host.removePodcast(commandInput.getName());
         objectNode.put("command", commandInput.getCommand());
         objectNode.put("user", commandInput.getUsername());
@@ -1147,10 +1156,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode removeEvent(final CommandInput commandInput) {
+    public ObjectNode removeEvent(final CommandInput commandInput) {
         String message = "";
         ObjectNode objectNode = objectMapper.createObjectNode();
-        if (!Admin.getInstance().doesExist(commandInput.getUsername())) {
+        if (!admin.doesExist(commandInput.getUsername())) {
             message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1160,7 +1169,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        if (!Admin.getInstance().isArtist(commandInput.getUsername())) {
+        if (!admin.isArtist(commandInput.getUsername())) {
             message = "%s is not an artist.".formatted(commandInput.getUsername());
             objectNode.put("command", commandInput.getCommand());
             objectNode.put("user", commandInput.getUsername());
@@ -1170,7 +1179,7 @@ public final class CommandRunner {
             return objectNode;
         }
 
-        Artist artist = Admin.getInstance().getArtist(commandInput.getUsername());
+        Artist artist = admin.getArtist(commandInput.getUsername());
         message = artist.removeEvent(commandInput.getName());
 
         objectNode.put("command", commandInput.getCommand());
@@ -1186,8 +1195,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the top 5 albums
      */
-    public static ObjectNode getTop5Albums(final CommandInput commandInput) {
-        List<String> albums = Admin.getInstance().getTop5Albums();
+    public ObjectNode getTop5Albums(final CommandInput commandInput) {
+        List<String> albums = admin.getTop5Albums();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -1203,8 +1212,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the top 5 artists.
      */
-    public static ObjectNode getTop5Artists(final CommandInput commandInput) {
-        List<String> artists = Admin.getInstance().getTop5Artists();
+    public ObjectNode getTop5Artists(final CommandInput commandInput) {
+        List<String> artists = admin.getTop5Artists();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -0,0 +1,268 @@
+package app;
+
+import app.audio.Collections.Album;
+import app.audio.Collections.Playlist;
+import app.audio.Files.Song;
+import app.searchBar.SongIndex;
+import app.user.Account;
+import app.utils.Constants;
+import app.utils.Leaderboard;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live rankings behind the top 5 statistics. Likes and follows are applied as
+ * deltas, so reading a top 5 does not sort the catalog.
+ * <p>
+ * The top artists used to be sorted out of a java.util.HashMap keyed by username
+ * and filled in registration order, so tied artists come out in its iteration
+ * order. That order hangs on the table size and on which bins HashMap turned into
+ * trees, so rather than copying those rules, the ties are ordered by the position
+ * of each artist in such a map, rebuilt when the top artists are read after the
+ * artists changed. main.ArtistOrderCheck compares the order with a fresh HashMap.
+ */
+public final class Leaderboards {
+    /** The position of an artist registered since the positions were taken. */
+    private static final int UNPLACED = Integer.MAX_VALUE;
+
+    private final Leaderboard<Song> songs =
+            new Leaderboard<>(Comparator.comparingLong(Song::getCatalogOrder));
+    private final Leaderboard<Album> albums = new Leaderboard<>(Comparator
+            .comparing(Album::getName).thenComparingLong(Album::getCatalogOrder));
+    private final Leaderboard<Playlist> playlists = new Leaderboard<>(Comparator
+            .comparingInt(Playlist::getTimestamp).thenComparingLong(Playlist::getCatalogOrder));
+    private final Leaderboard<Account> artists = new Leaderboard<>(Comparator
+            .comparingInt(this::hashMapPosition).thenComparingInt(Account::getOrdinal));
+    private final Map<Album, Account> albumArtists = new IdentityHashMap<>();
+    /** Every ranked artist, by its position in the iteration order of a HashMap. */
+    private final Map<Account, Integer> artistPositions = new IdentityHashMap<>();
+    private boolean artistPositionsStale;
+    /** Bumped on every like or unlike, so cached rankings know to refresh. */
+    @Getter
+    private long likeVersion;
+
+    /**
+     * Drops a song.
+     *
+     * @param song the song
+     */
+    public void removeSong(final Song song) {
+        songs.remove(song);
+    }
+
+    /**
+     * Drops every ranked song.
+     */
+    public void clearSongs() {
+        songs.clear();
+    }
+
+    /**
+     * Ranks an album and counts its likes for its artist. Both then follow the
+     * combined likes of the album.
+     *
+     * @param album  the album
+     * @param artist the account of the album's artist
+     */
+    public void addAlbum(final Album album, final Account artist) {
+        albumArtists.put(album, artist);
+        albums.add(album, album.getCombinedLikes());
+        artists.adjust(artist, album.getCombinedLikes());
+        album.setLikesListener(delta -> {
+            albums.adjust(album, delta);
+            artists.adjust(artist, delta);
+        });
+    }
+
+    /**
+     * Drops an album and its likes from its artist.
+     *
+     * @param album the album
+     */
+    public void removeAlbum(final Album album) {
+        Account artist = albumArtists.remove(album);
+        if (artist == null) {
+            return;
+        }
+
+        album.setLikesListener(null);
+        artists.adjust(artist, -albums.score(album));
+        albums.remove(album);
+    }
+
+    /**
+     * Ranks an artist.
+     *
+     * @param artist the artist account
+     */
+    public void addArtist(final Account artist) {
+        artistPositions.putIfAbsent(artist, UNPLACED);
+        artists.add(artist, 0);
+        artistPositionsStale = true;
+    }
+
+    /**
+     * Drops an artist.
+     *
+     * @param artist the artist account
+     */
+    public void removeArtist(final Account artist) {
+        artists.remove(artist);
+        artistPositions.remove(artist);
+        artistPositionsStale = true;
+    }
+
+    /**
+     * Ranks a playlist.
+     *
+     * @param playlist the playlist
+     */
+    public void addPlaylist(final Playlist playlist) {
+        playlists.add(playlist, playlist.getFollowers());
+    }
+
+    /**
+     * Drops a playlist.
+     *
+     * @param playlist the playlist
+     */
+    public void removePlaylist(final Playlist playlist) {
+        playlists.remove(playlist);
+    }
+
+    /**
+     * Reranks a song whose likes changed. Its album and artist are not touched
+     * here: they follow the combined likes of the album.
+     *
+     * @param song the song
+     */
+    public void songLiked(final Song song) {
+        likeVersion++;
+        songs.remove(song);
+        if (song.getLikes() > 0) {
+            songs.add(song, song.getLikes());
+        }
+    }
+
+    /**
+     * Applies a change in the followers of a playlist.
+     *
+     * @param playlist the playlist
+     * @param delta    the change in followers
+     */
+    public void playlistFollowed(final Playlist playlist, final int delta) {
+        playlists.adjust(playlist, delta);
+    }
+
+    /**
+     * Gets the most liked songs, ties kept in catalog order. Only liked songs are
+     * ranked; the list is filled up with the first songs of the catalog that have
+     * no likes.
+     *
+     * @param catalog the song catalog
+     * @return the song names
+     */
+    public List<String> topSongs(final SongIndex catalog) {
+        List<Song> top = songs.top(Constants.LIMIT);
+        if (top.size() < Constants.LIMIT) {
+            top.addAll(catalog.first(Constants.LIMIT - top.size(),
+                    song -> song.getLikes() == 0));
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Song song : top) {
+            names.add(song.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Gets the most liked albums, ties ordered by name.
+     *
+     * @return the album names
+     */
+    public List<String> topAlbums() {
+        List<String> names = new ArrayList<>();
+        for (Album album : albums.top(Constants.LIMIT)) {
+            names.add(album.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Gets the artists with the most liked albums. Ties keep the order a HashMap
+     * keyed by username iterates them in.
+     *
+     * @return the artist usernames
+     */
+    public List<String> topArtists() {
+        placeArtists();
+        List<String> names = new ArrayList<>();
+        for (Account artist : artists.top(Constants.LIMIT)) {
+            names.add(artist.getUser().getUsername());
+        }
+        return names;
+    }
+
+    /**
+     * Gets the most followed playlists, ties ordered by creation time.
+     *
+     * @return the playlist names
+     */
+    public List<String> topPlaylists() {
+        List<String> names = new ArrayList<>();
+        for (Playlist playlist : playlists.top(Constants.LIMIT)) {
+            names.add(playlist.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Clears every ranking.
+     */
+    public void clear() {
+        songs.clear();
+        albums.clear();
+        playlists.clear();
+        artists.clear();
+        albumArtists.keySet().forEach(album -> album.setLikesListener(null));
+        albumArtists.clear();
+        artistPositions.clear();
+        artistPositionsStale = false;
+    }
+
+    /**
+     * Takes the position of every artist in a HashMap filled with their usernames
+     * in registration order, and ranks the ties again by it. Until then, artists
+     * keep their old positions and new ones come last, so the ranking stays
+     * consistent.
+     */
+    private void placeArtists() {
+        if (!artistPositionsStale) {
+            return;
+        }
+
+        List<Account> registered = new ArrayList<>(artistPositions.keySet());
+        registered.sort(Comparator.comparingInt(Account::getOrdinal));
+        Map<String, Account> table = new HashMap<>();
+        for (Account artist : registered) {
+            table.put(artist.getUser().getUsername(), artist);
+        }
+        int position = 0;
+        for (Account artist : table.values()) {
+            artistPositions.put(artist, position++);
+        }
+        artists.reorder();
+        artistPositionsStale = false;
+    }
+
+    private int hashMapPosition(final Account artist) {
+        return artistPositions.getOrDefault(artist, UNPLACED);
+    }
+}
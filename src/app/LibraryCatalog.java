@@ -0,0 +1,221 @@
+package app;
+
+import app.audio.Collections.Podcast;
+import app.audio.Files.Episode;
+import app.audio.Files.MappedSongStore;
+import app.audio.Files.Song;
+import app.searchBar.SongIndex;
+import app.utils.SymbolTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.EpisodeInput;
+import fileio.input.IndexInput;
+import fileio.input.LibraryHandler;
+import fileio.input.LibraryInput;
+import fileio.input.LibraryReader;
+import fileio.input.PodcastInput;
+import fileio.input.SnapshotReader;
+import fileio.input.SongInput;
+import fileio.input.UserInput;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The library a run starts from, parsed and indexed once and shared by every run.
+ * Nothing in it is changed after loading: each run works on its own copies of the
+ * songs and podcasts and on forks of the song index and the symbol table.
+ * <p>
+ * With the library.mappedSongs property set, the song metadata is streamed into a
+ * store file kept next to the other temporary files and mapped, instead of being
+ * kept on the heap; see MappedSongStore.fileFor.
+ * <p>
+ * Loaded catalogs are only softly held: one stays cached while runs keep asking
+ * for it and memory allows, and is collected, then dropped from the cache, once
+ * it is no longer used and the heap runs short.
+ */
+@Getter
+public final class LibraryCatalog {
+    private static final Map<String, SoftReference<LibraryCatalog>> LOADED =
+            new ConcurrentHashMap<>();
+
+    private final List<UserInput> users;
+    private final List<Song> songs;
+    private final List<Podcast> podcasts;
+    private final SongIndex songIndex;
+    private final SymbolTable symbols;
+    private final long lastModified;
+    private final long length;
+
+    private LibraryCatalog(final List<UserInput> userInputs, final List<Song> songList,
+                           final SymbolTable symbols, final IndexInput index,
+                           final List<PodcastInput> podcastInputs, final long lastModified,
+                           final long length) {
+        this.symbols = symbols;
+        symbols.freeze();
+        this.lastModified = lastModified;
+        this.length = length;
+        users = Collections.unmodifiableList(new ArrayList<>(userInputs));
+
+        for (int id = 0; id < songList.size(); id++) {
+            songList.get(id).setCatalogOrder(id);
+        }
+        if (index != null) {
+            songIndex = SongIndex.restore(songList, index);
+        } else {
+            songIndex = new SongIndex();
+            songList.forEach(songIndex::add);
+        }
+        songIndex.freeze();
+        songs = Collections.unmodifiableList(songList);
+
+        List<Podcast> podcastList = new ArrayList<>();
+        for (PodcastInput podcastInput : podcastInputs) {
+            List<Episode> episodes = new ArrayList<>();
+            for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
+                episodes.add(new Episode(episodeInput.getName(),
+                                         episodeInput.getDuration(),
+                                         episodeInput.getDescription()));
+            }
+            podcastList.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(),
+                                        Collections.unmodifiableList(episodes)));
+        }
+        podcasts = Collections.unmodifiableList(podcastList);
+    }
+
+    /**
+     * Gets the catalog of a library file, parsing it only the first time or after
+     * the file has changed. The file is either JSON or a binary snapshot. Runs
+     * asking for the same file at the same time wait for a single parse.
+     *
+     * @param file the library file
+     * @return the catalog
+     * @throws IOException if the file cannot be read
+     */
+    public static LibraryCatalog load(final File file) throws IOException {
+        LOADED.values().removeIf(reference -> reference.get() == null);
+        // Held here too, so the catalog cannot be collected before it is returned.
+        LibraryCatalog[] loaded = new LibraryCatalog[1];
+        try {
+            LOADED.compute(file.getCanonicalPath(), (key, reference) -> {
+                LibraryCatalog cached = reference == null ? null : reference.get();
+                if (cached != null && cached.lastModified == file.lastModified()
+                        && cached.length == file.length()) {
+                    loaded[0] = cached;
+                    return reference;
+                }
+                try {
+                    loaded[0] = read(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return new SoftReference<>(loaded[0]);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return loaded[0];
+    }
+
+    /**
+     * Parses and indexes a library file, bypassing the cache.
+     *
+     * @param file the library file, JSON or a binary snapshot
+     * @return the catalog
+     * @throws IOException if the file cannot be read
+     */
+    public static LibraryCatalog read(final File file) throws IOException {
+        long modified = file.lastModified();
+        long size = file.length();
+        if (Boolean.getBoolean("library.mappedSongs")) {
+            return readMapped(file, modified, size);
+        }
+
+        LibraryInput library = SnapshotReader.isSnapshot(file) ? SnapshotReader.read(file)
+                : new ObjectMapper().readValue(file, LibraryInput.class);
+        return of(library, modified, size);
+    }
+
+    /**
+     * Indexes the songs of a library the way a catalog does, so that a snapshot of
+     * the library can carry the postings.
+     *
+     * @param library the library
+     * @return the postings
+     */
+    public static IndexInput indexOf(final LibraryInput library) {
+        return of(library, 0, 0).getSongIndex().export();
+    }
+
+    /**
+     * Builds a catalog from a parsed library, restoring its song index from the
+     * postings a snapshot carries or else indexing every song.
+     */
+    private static LibraryCatalog of(final LibraryInput library, final long modified,
+                                     final long size) {
+        SymbolTable symbols = new SymbolTable();
+        List<Song> songList = new ArrayList<>(library.getSongs().size());
+        for (SongInput songInput : library.getSongs()) {
+            songList.add(new Song(symbols, songInput.getName(), songInput.getDuration(),
+                    songInput.getAlbum(), songInput.getTags(), songInput.getLyrics(),
+                    songInput.getGenre(), songInput.getReleaseYear(), songInput.getArtist()));
+        }
+        return new LibraryCatalog(library.getUsers(), songList, symbols, library.getIndex(),
+                                  library.getPodcasts(), modified, size);
+    }
+
+    /**
+     * Reads a library whose songs live in a mapped store. The store kept for the
+     * library is reused while it is current; otherwise the songs are streamed
+     * into a new one. Either way the songs are never all on the heap.
+     */
+    private static LibraryCatalog readMapped(final File file, final long modified,
+                                             final long size) throws IOException {
+        File storeFile = MappedSongStore.fileFor(file);
+        MappedSongStore store = MappedSongStore.openIfBuiltFrom(storeFile, modified, size);
+        List<UserInput> userInputs = new ArrayList<>();
+        List<PodcastInput> podcastInputs = new ArrayList<>();
+
+        try (MappedSongStore.Writer writer = store != null ? null
+                : MappedSongStore.create(storeFile, modified, size)) {
+            LibraryReader.read(file, new LibraryHandler() {
+                @Override
+                public void users(final List<UserInput> users) {
+                    userInputs.addAll(users);
+                }
+
+                @Override
+                public void podcasts(final List<PodcastInput> podcasts) {
+                    podcastInputs.addAll(podcasts);
+                }
+
+                @Override
+                public boolean wantsSongs() {
+                    return writer != null;
+                }
+
+                @Override
+                public void song(final SongInput song) throws IOException {
+                    writer.add(song);
+                }
+            });
+            if (writer != null) {
+                store = writer.finish();
+            }
+        }
+
+        List<Song> songList = new ArrayList<>(store.size());
+        for (int record = 0; record < store.size(); record++) {
+            songList.add(new Song(store, record));
+        }
+        return new LibraryCatalog(userInputs, songList, new SymbolTable(), null,
+                                  podcastInputs, modified, size);
+    }
+}
@@ -0,0 +1,206 @@
+package app;
+
+import app.audio.Collections.Playlist;
+import app.audio.Files.Song;
+import app.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Who refers to what: the users liking each song, the playlists holding it and
+ * the users following each playlist. Deleting an account then only visits the
+ * lists that actually refer to it.
+ */
+public final class ReferenceGraph {
+    private final Map<Song, Set<User>> likers = new HashMap<>();
+    private final Map<Song, Set<Playlist>> holders = new HashMap<>();
+    private final Map<Playlist, Set<User>> followers = new HashMap<>();
+    private final Map<String, Set<Song>> songsByArtist = new HashMap<>();
+    private final Map<String, Set<Song>> songsByAlbum = new HashMap<>();
+
+    /**
+     * Records a like.
+     *
+     * @param song the song
+     * @param user the user liking it
+     */
+    public void liked(final Song song, final User user) {
+        referenced(song);
+        likers.computeIfAbsent(song, key -> new HashSet<>()).add(user);
+    }
+
+    /**
+     * Records an unlike.
+     *
+     * @param song the song
+     * @param user the user no longer liking it
+     */
+    public void unliked(final Song song, final User user) {
+        drop(likers, song, user);
+        unreferenced(song);
+    }
+
+    /**
+     * Records a song added to a playlist.
+     *
+     * @param playlist the playlist
+     * @param song     the song
+     */
+    public void added(final Playlist playlist, final Song song) {
+        referenced(song);
+        holders.computeIfAbsent(song, key -> new HashSet<>()).add(playlist);
+    }
+
+    /**
+     * Records a song removed from a playlist.
+     *
+     * @param playlist the playlist
+     * @param song     the song
+     */
+    public void removed(final Playlist playlist, final Song song) {
+        drop(holders, song, playlist);
+        unreferenced(song);
+    }
+
+    /**
+     * Records a follow.
+     *
+     * @param playlist the playlist
+     * @param user     the follower
+     */
+    public void followed(final Playlist playlist, final User user) {
+        followers.computeIfAbsent(playlist, key -> new HashSet<>()).add(user);
+    }
+
+    /**
+     * Records an unfollow.
+     *
+     * @param playlist the playlist
+     * @param user     the former follower
+     */
+    public void unfollowed(final Playlist playlist, final User user) {
+        drop(followers, playlist, user);
+    }
+
+    /**
+     * Gets the users liking a song.
+     *
+     * @param song the song
+     * @return the users
+     */
+    public Set<User> likersOf(final Song song) {
+        return likers.getOrDefault(song, Collections.emptySet());
+    }
+
+    /**
+     * Gets the playlists holding a song.
+     *
+     * @param song the song
+     * @return the playlists
+     */
+    public Set<Playlist> playlistsWith(final Song song) {
+        return holders.getOrDefault(song, Collections.emptySet());
+    }
+
+    /**
+     * Gets the followers of a playlist.
+     *
+     * @param playlist the playlist
+     * @return the followers
+     */
+    public Set<User> followersOf(final Playlist playlist) {
+        return followers.getOrDefault(playlist, Collections.emptySet());
+    }
+
+    /**
+     * Gets the liked or playlisted songs whose artist field is the given name.
+     *
+     * @param artist the artist name
+     * @return a copy of the songs
+     */
+    public List<Song> referencedSongsBy(final String artist) {
+        return new ArrayList<>(songsByArtist.getOrDefault(artist, Collections.emptySet()));
+    }
+
+    /**
+     * Gets the liked or playlisted songs whose album field is the given name.
+     *
+     * @param album the album name
+     * @return a copy of the songs
+     */
+    public List<Song> referencedSongsOn(final String album) {
+        return new ArrayList<>(songsByAlbum.getOrDefault(album, Collections.emptySet()));
+    }
+
+    /**
+     * Forgets every reference to a song.
+     *
+     * @param song the song
+     */
+    public void forgetSong(final Song song) {
+        likers.remove(song);
+        holders.remove(song);
+        unreferenced(song);
+    }
+
+    /**
+     * Forgets a deleted user: their likes, follows and playlists.
+     *
+     * @param user the user
+     */
+    public void forgetUser(final User user) {
+        for (Song song : user.getLikedSongs()) {
+            unliked(song, user);
+        }
+        for (Playlist playlist : user.getFollowedPlaylists()) {
+            unfollowed(playlist, user);
+        }
+        for (Playlist playlist : user.getPlaylists()) {
+            for (Song song : playlist.getSongs()) {
+                removed(playlist, song);
+            }
+            followers.remove(playlist);
+        }
+    }
+
+    /**
+     * Forgets every reference.
+     */
+    public void clear() {
+        likers.clear();
+        holders.clear();
+        followers.clear();
+        songsByArtist.clear();
+        songsByAlbum.clear();
+    }
+
+    private void referenced(final Song song) {
+        songsByArtist.computeIfAbsent(song.getArtist(), key -> new HashSet<>()).add(song);
+        songsByAlbum.computeIfAbsent(song.getAlbum(), key -> new HashSet<>()).add(song);
+    }
+
+    private void unreferenced(final Song song) {
+        if (likers.containsKey(song) || holders.containsKey(song)) {
+            return;
+        }
+        drop(songsByArtist, song.getArtist(), song);
+        drop(songsByAlbum, song.getAlbum(), song);
+    }
+
+    private static <K, V> void drop(final Map<K, Set<V>> references, final K key,
+                                    final V value) {
+        Set<V> values = references.get(key);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                references.remove(key);
+            }
+        }
+    }
+}
@@ -1,56 +1,85 @@
-package app.audio.Collections;
-
-import app.audio.Files.AudioFile;
-import app.audio.Files.Song;
-import lombok.Getter;
-
-import java.util.ArrayList;
-
-public final class Album extends AudioCollection {
-    @Getter
-    private final ArrayList<Song> songs;
-    @Getter
-    private final String description;
-    @Getter
-    private final int releaseYear;
-    @Getter
-    private Integer followers;
-
-    public Album(final String name, final String owner,
-                 final String description, final Integer releaseYear) {
-        super(name, owner);
-        songs = new ArrayList<>();
-        this.description = description;
-        this.releaseYear = releaseYear;
-        followers = 0;
-    }
-
-    @Override
-    public int getNumberOfTracks() {
-        return songs.size();
-    }
-
-    @Override
-    public AudioFile getTrackByIndex(final int index) {
-        return songs.get(index);
-    }
-
-    /**
-     * Matches description boolean.
-     *
-     * @param descriptionFilter the description
-     * @return the boolean
-     */
-    public boolean matchesDescription(final String descriptionFilter) {
-        return getDescription().toLowerCase().startsWith(descriptionFilter.toLowerCase());
-    }
-
-    public int getCombinedLikes() {
-        return songs.stream().mapToInt(Song::getLikes).sum();
-    }
-
-    @Override
-    public String toString() {
-        return getName();
-    }
-}
+package app.audio.Collections;
+
+import app.audio.Files.AudioFile;
+import app.audio.Files.Song;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class Album extends AudioCollection {
+    private final ArrayList<Song> songs;
+    private final List<Song> songView;
+    @Getter
+    private final String description;
+    @Getter
+    private final int releaseYear;
+    @Getter
+    private Integer followers;
+
+    public Album(final String name, final String owner,
+                 final String description, final Integer releaseYear) {
+        super(name, owner);
+        songs = new ArrayList<>();
+        songView = Collections.unmodifiableList(songs);
+        this.description = description;
+        this.releaseYear = releaseYear;
+        followers = 0;
+    }
+
+    /**
+     * Gets the songs, read-only; songs are added through addSong.
+     *
+     * @return the songs
+     */
+    public List<Song> getSongs() {
+        return songView;
+    }
+
+    @Override
+    public int getNumberOfTracks() {
+        return songs.size();
+    }
+
+    @Override
+    public AudioFile getTrackByIndex(final int index) {
+        return songs.get(index);
+    }
+
+    /**
+     * Matches description boolean.
+     *
+     * @param descriptionFilter the description
+     * @return the boolean
+     */
+    public boolean matchesDescription(final String descriptionFilter) {
+        return getDescription().toLowerCase().startsWith(descriptionFilter.toLowerCase());
+    }
+
+    /**
+     * Adds a song, counting its likes.
+     *
+     * @param song the song
+     */
+    public void addSong(final Song song) {
+        songs.add(song);
+        song.addedTo(this);
+        tracksChanged();
+    }
+
+    /**
+     * Takes the likes of every song back out of the album once it is deleted. The
+     * tracks stay, for anyone still holding the album.
+     */
+    public void detachSongs() {
+        for (Song song : songs) {
+            song.removedFrom(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -2,14 +2,34 @@ package app.audio.Collections;
 
 import app.audio.Files.AudioFile;
 import app.audio.LibraryEntry;
+import app.player.ShuffleOrder;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
 /**
  * The type Audio collection.
  */
 @Getter
 public abstract class AudioCollection extends LibraryEntry {
+    private static final int SHUFFLE_CACHE_SIZE = 16;
     private final String owner;
+    private int trackVersion;
+    private long[] durationSums;
+    private int combinedLikes;
+    @Getter(AccessLevel.NONE)
+    private IntConsumer likesListener;
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, ShuffleOrder> shuffleOrders =
+            new LinkedHashMap<>(SHUFFLE_CACHE_SIZE, 1f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Integer, ShuffleOrder> e) {
+                    return size() > SHUFFLE_CACHE_SIZE;
+                }
+            };
 
     /**
      * Instantiates a new Audio collection.
@@ -22,6 +42,28 @@ public abstract class AudioCollection extends LibraryEntry {
         this.owner = owner;
     }
 
+    /**
+     * Applies a change in the likes of one of the songs, keeping the combined
+     * likes without summing over the songs.
+     *
+     * @param delta the change
+     */
+    public void songLikesChanged(final int delta) {
+        combinedLikes += delta;
+        if (likesListener != null) {
+            likesListener.accept(delta);
+        }
+    }
+
+    /**
+     * Sets what is told about every change in the combined likes.
+     *
+     * @param listener takes the change, or null to stop telling
+     */
+    public void setLikesListener(final IntConsumer listener) {
+        likesListener = listener;
+    }
+
     /**
      * Gets number of tracks.
      *
@@ -37,6 +79,45 @@ public abstract class AudioCollection extends LibraryEntry {
      */
     public abstract AudioFile getTrackByIndex(int index);
 
+    /**
+     * Gets the running totals of the track durations: entry i is the total
+     * duration of the tracks before index i. Built on first use and kept until
+     * the tracks change.
+     *
+     * @return the duration sums
+     */
+    public long[] getDurationSums() {
+        if (durationSums == null) {
+            long[] sums = new long[getNumberOfTracks() + 1];
+            for (int i = 0; i < getNumberOfTracks(); i++) {
+                sums[i + 1] = sums[i] + getTrackByIndex(i).getDuration();
+            }
+            durationSums = sums;
+        }
+        return durationSums;
+    }
+
+    /**
+     * Gets the shuffled play order of the tracks for a seed. Recently used orders
+     * are shared by every player shuffling this collection.
+     *
+     * @param seed the seed
+     * @return the shuffle order
+     */
+    public ShuffleOrder getShuffleOrder(final int seed) {
+        return shuffleOrders.computeIfAbsent(seed,
+                key -> ShuffleOrder.generate(getNumberOfTracks(), key));
+    }
+
+    /**
+     * Drops what was cached about the tracks. Call it whenever they change.
+     */
+    protected void tracksChanged() {
+        trackVersion++;
+        durationSums = null;
+        shuffleOrders.clear();
+    }
+
     /**
      *
      * @param user the user
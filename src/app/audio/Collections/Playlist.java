@@ -3,9 +3,10 @@ package app.audio.Collections;
 import app.audio.Files.AudioFile;
 import app.audio.Files.Song;
 import app.utils.Enums;
+import app.utils.IndexedSet;
 import lombok.Getter;
 
-import java.util.ArrayList;
+import java.util.function.Predicate;
 
 /**
  * The type Playlist.
@@ -13,7 +14,7 @@ import java.util.ArrayList;
 @Getter
 public final class Playlist extends AudioCollection {
     @Getter
-    private final ArrayList<Song> songs;
+    private final IndexedSet<Song> songs;
     private Enums.Visibility visibility;
     private Integer followers;
     private int timestamp;
@@ -37,7 +38,7 @@ public final class Playlist extends AudioCollection {
      */
     public Playlist(final String name, final String owner, final int timestamp) {
         super(name, owner);
-        this.songs = new ArrayList<>();
+        this.songs = new IndexedSet<>();
         this.visibility = Enums.Visibility.PUBLIC;
         this.followers = 0;
         this.timestamp = timestamp;
@@ -59,7 +60,10 @@ public final class Playlist extends AudioCollection {
      * @param song the song
      */
     public void addSong(final Song song) {
-        songs.add(song);
+        if (songs.add(song)) {
+            song.addedTo(this);
+        }
+        tracksChanged();
     }
 
     /**
@@ -68,7 +72,10 @@ public final class Playlist extends AudioCollection {
      * @param song the song
      */
     public void removeSong(final Song song) {
-        songs.remove(song);
+        if (songs.remove(song)) {
+            song.removedFrom(this);
+        }
+        tracksChanged();
     }
 
     /**
@@ -77,7 +84,35 @@ public final class Playlist extends AudioCollection {
      * @param index the index
      */
     public void removeSong(final int index) {
-        songs.remove(index);
+        songs.remove(index).removedFrom(this);
+        tracksChanged();
+    }
+
+    /**
+     * Removes the songs matching a condition.
+     *
+     * @param condition the condition
+     */
+    public void removeSongs(final Predicate<Song> condition) {
+        if (songs.removeIf(song -> {
+            if (condition.test(song)) {
+                song.removedFrom(this);
+                return true;
+            }
+            return false;
+        })) {
+            tracksChanged();
+        }
+    }
+
+    /**
+     * Takes the likes of every song back out of the playlist once it is deleted.
+     * The tracks stay, for anyone still holding the playlist.
+     */
+    public void detachSongs() {
+        for (Song song : songs) {
+            song.removedFrom(this);
+        }
     }
 
     /**
@@ -137,10 +172,6 @@ public final class Playlist extends AudioCollection {
         }
     }
 
-    public int getCombinedLikes() {
-        return songs.stream().mapToInt(Song::getLikes).sum();
-    }
-
     @Override
     public String toString() {
         return getName() + " - " + getOwner();
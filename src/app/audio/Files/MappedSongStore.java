@@ -0,0 +1,333 @@
+package app.audio.Files;
+
+import fileio.input.SongInput;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Read-only song metadata kept in a memory-mapped file instead of on the heap.
+ * <p>
+ * The file holds a header (magic, song count, where the records start and the
+ * modification time and length of the library it was built from), a text region
+ * and one fixed-width record per song. A record holds the duration and release
+ * year and the text offsets of the name, album, lyrics, genre, artist and tags;
+ * strings are stored as their UTF-8 length followed by the bytes, tags as their
+ * count followed by the strings. Fields are decoded only when asked for, with
+ * absolute reads, so one store can be read by many threads.
+ * <p>
+ * A store is written one song at a time and kept on disk, so later runs map it
+ * again for as long as the library does not change.
+ */
+public final class MappedSongStore {
+    private static final int MAGIC = 0x534F4E47;
+    private static final int COUNT_AT = Integer.BYTES;
+    private static final int RECORDS_AT = COUNT_AT + Integer.BYTES;
+    private static final int MODIFIED_AT = RECORDS_AT + Integer.BYTES;
+    private static final int LENGTH_AT = MODIFIED_AT + Long.BYTES;
+    private static final int TEXT_START = LENGTH_AT + Long.BYTES;
+    private static final int NAME = 0;
+    private static final int ALBUM = 1;
+    private static final int LYRICS = 2;
+    private static final int GENRE = 3;
+    private static final int ARTIST = 4;
+    private static final int TAGS = 5;
+    private static final int DURATION = 6;
+    private static final int RELEASE_YEAR = 7;
+    private static final int RECORD_FIELDS = 8;
+    private static final int RECORD_SIZE = RECORD_FIELDS * Integer.BYTES;
+    private static final int NULL = -1;
+    private static final int NULL_NUMBER = Integer.MIN_VALUE;
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int recordStart;
+
+    private MappedSongStore(final MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < TEXT_START || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a song store");
+        }
+        size = buffer.getInt(COUNT_AT);
+        recordStart = buffer.getInt(RECORDS_AT);
+        if (size < 0 || recordStart < TEXT_START
+                || (long) recordStart + (long) size * RECORD_SIZE != buffer.capacity()) {
+            throw new IOException("Truncated song store");
+        }
+    }
+
+    /**
+     * Gets the store file kept for a library: in the directory named by the
+     * library.storeDir property, or else the temporary directory, under a name
+     * unique to the library path.
+     *
+     * @param library the library file
+     * @return the store file
+     * @throws IOException if the library path cannot be resolved
+     */
+    public static File fileFor(final File library) throws IOException {
+        String path = library.getCanonicalPath();
+        File directory = new File(System.getProperty("library.storeDir",
+                System.getProperty("java.io.tmpdir")));
+        return new File(directory, library.getName() + "-"
+                + Integer.toHexString(path.hashCode()) + ".songs");
+    }
+
+    /**
+     * Maps a store file. The mapping outlives the file channel, so nothing needs closing.
+     *
+     * @param file the store file
+     * @return the store
+     * @throws IOException if the file cannot be mapped or is not a song store
+     */
+    public static MappedSongStore open(final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Song store larger than one mapping");
+            }
+            return new MappedSongStore(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                                                   channel.size()));
+        }
+    }
+
+    /**
+     * Maps the store of a library if it exists and was built from the library as
+     * it is now.
+     *
+     * @param file         the store file
+     * @param lastModified the modification time of the library
+     * @param length       the length of the library
+     * @return the store, or null if there is none or it is stale
+     */
+    public static MappedSongStore openIfBuiltFrom(final File file, final long lastModified,
+                                                  final long length) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            MappedSongStore store = open(file);
+            if (store.buffer.getLong(MODIFIED_AT) == lastModified
+                    && store.buffer.getLong(LENGTH_AT) == length) {
+                return store;
+            }
+        } catch (IOException e) {
+            // An unreadable store is rebuilt like a stale one.
+        }
+        return null;
+    }
+
+    /**
+     * Starts writing a store. The songs go to a temporary file, which replaces
+     * the store file only once it is complete.
+     *
+     * @param file         the store file
+     * @param lastModified the modification time of the library the songs come from
+     * @param length       the length of that library
+     * @return the writer
+     * @throws IOException if the temporary files cannot be created
+     */
+    public static Writer create(final File file, final long lastModified, final long length)
+            throws IOException {
+        return new Writer(file, lastModified, length);
+    }
+
+    /**
+     * Writes a store one song at a time. The text is streamed to the store file
+     * and the records to a side file appended at the end, so only the current song
+     * is held in memory.
+     */
+    public static final class Writer implements Closeable {
+        private final File file;
+        private final long lastModified;
+        private final long length;
+        private final File textFile;
+        private final File recordFile;
+        private final DataOutputStream text;
+        private final DataOutputStream records;
+        private long textSize;
+        private int count;
+        private boolean finished;
+
+        private Writer(final File file, final long lastModified, final long length)
+                throws IOException {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+            File directory = file.getAbsoluteFile().getParentFile();
+            Files.createDirectories(directory.toPath());
+            textFile = File.createTempFile(file.getName(), ".text", directory);
+            recordFile = File.createTempFile(file.getName(), ".records", directory);
+            text = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(textFile)));
+            records = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(recordFile)));
+            text.write(new byte[TEXT_START]);
+        }
+
+        /**
+         * Appends a song.
+         *
+         * @param song the song
+         * @throws IOException if the song cannot be written, or the store would
+         *                     not fit in one mapping anymore
+         */
+        public void add(final SongInput song) throws IOException {
+            records.writeInt(writeText(song.getName()));
+            records.writeInt(writeText(song.getAlbum()));
+            records.writeInt(writeText(song.getLyrics()));
+            records.writeInt(writeText(song.getGenre()));
+            records.writeInt(writeText(song.getArtist()));
+            if (song.getTags() == null) {
+                records.writeInt(NULL);
+            } else {
+                records.writeInt((int) textSize);
+                text.writeInt(song.getTags().size());
+                textSize += Integer.BYTES;
+                for (String tag : song.getTags()) {
+                    writeText(tag);
+                }
+            }
+            records.writeInt(song.getDuration() == null ? NULL_NUMBER : song.getDuration());
+            records.writeInt(song.getReleaseYear() == null ? NULL_NUMBER
+                    : song.getReleaseYear());
+            count++;
+            if (TEXT_START + textSize + (long) count * RECORD_SIZE > Integer.MAX_VALUE) {
+                throw new IOException("Song store larger than one mapping");
+            }
+        }
+
+        /**
+         * Completes the store, moves it in place and maps it.
+         *
+         * @return the store
+         * @throws IOException if the store cannot be written
+         */
+        public MappedSongStore finish() throws IOException {
+            records.close();
+            Files.copy(recordFile.toPath(), text);
+            text.close();
+            try (RandomAccessFile header = new RandomAccessFile(textFile, "rw")) {
+                header.writeInt(MAGIC);
+                header.writeInt(count);
+                header.writeInt((int) (TEXT_START + textSize));
+                header.writeLong(lastModified);
+                header.writeLong(length);
+            }
+            Files.move(textFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            finished = true;
+            close();
+            return open(file);
+        }
+
+        /**
+         * Deletes the temporary files, discarding the store unless it was finished.
+         *
+         * @throws IOException if the temporary files cannot be closed or deleted
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!finished) {
+                    records.close();
+                    text.close();
+                }
+            } finally {
+                Files.deleteIfExists(recordFile.toPath());
+                Files.deleteIfExists(textFile.toPath());
+            }
+        }
+
+        private int writeText(final String value) throws IOException {
+            if (value == null) {
+                return NULL;
+            }
+            int offset = (int) textSize;
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            text.writeInt(bytes.length);
+            text.write(bytes);
+            textSize += Integer.BYTES + bytes.length;
+            return offset;
+        }
+    }
+
+    /**
+     * Gets the number of songs.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    String getName(final int song) {
+        return readText(field(song, NAME));
+    }
+
+    String getAlbum(final int song) {
+        return readText(field(song, ALBUM));
+    }
+
+    String getLyrics(final int song) {
+        return readText(field(song, LYRICS));
+    }
+
+    String getGenre(final int song) {
+        return readText(field(song, GENRE));
+    }
+
+    String getArtist(final int song) {
+        return readText(field(song, ARTIST));
+    }
+
+    ArrayList<String> getTags(final int song) {
+        int offset = field(song, TAGS);
+        if (offset == NULL) {
+            return null;
+        }
+        int position = TEXT_START + offset;
+        int count = buffer.getInt(position);
+        position += Integer.BYTES;
+        ArrayList<String> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tags.add(readText(position - TEXT_START));
+            position += Integer.BYTES + buffer.getInt(position);
+        }
+        return tags;
+    }
+
+    Integer getDuration(final int song) {
+        int duration = field(song, DURATION);
+        return duration == NULL_NUMBER ? null : duration;
+    }
+
+    Integer getReleaseYear(final int song) {
+        int releaseYear = field(song, RELEASE_YEAR);
+        return releaseYear == NULL_NUMBER ? null : releaseYear;
+    }
+
+    private int field(final int song, final int field) {
+        return buffer.getInt(recordStart + song * RECORD_SIZE + field * Integer.BYTES);
+    }
+
+    private String readText(final int offset) {
+        if (offset == NULL) {
+            return null;
+        }
+        int position = TEXT_START + offset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
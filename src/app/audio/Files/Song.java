@@ -1,113 +1,333 @@
-package app.audio.Files;
-
-import lombok.Getter;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * The type Song.
- */
-@Getter
-public final class Song extends AudioFile {
-    private final String album;
-    private final ArrayList<String> tags;
-    private final String lyrics;
-    private final String genre;
-    private final Integer releaseYear;
-    private final String artist;
-    private Integer likes;
-
-    /**
-     * Instantiates a new Song.
-     *
-     * @param name        the name
-     * @param duration    the duration
-     * @param album       the album
-     * @param tags        the tags
-     * @param lyrics      the lyrics
-     * @param genre       the genre
-     * @param releaseYear the release year
-     * @param artist      the artist
-     */
-    public Song(final String name, final Integer duration, final String album,
-                final ArrayList<String> tags, final String lyrics, final String genre,
-                final Integer releaseYear, final String artist) {
-        super(name, duration);
-        this.album = album;
-        this.tags = tags;
-        this.lyrics = lyrics;
-        this.genre = genre;
-        this.releaseYear = releaseYear;
-        this.artist = artist;
-        this.likes = 0;
-    }
-
-    @Override
-    public boolean matchesAlbum(final String albumName) {
-        return this.getAlbum().equalsIgnoreCase(albumName);
-    }
-
-    @Override
-    public boolean matchesTags(final ArrayList<String> tagsList) {
-        List<String> songTags = new ArrayList<>();
-        for (String tag : this.getTags()) {
-            songTags.add(tag.toLowerCase());
-        }
-
-        for (String tag : tagsList) {
-            if (!songTags.contains(tag.toLowerCase())) {
-                return false;
-            }
-        }
-        return true;
-    }
-    @Override
-    public boolean matchesLyrics(final String lyricFilter) {
-        return this.getLyrics().toLowerCase().contains(lyricFilter.toLowerCase());
-    }
-
-    @Override
-    public boolean matchesGenre(final String genreFilter) {
-        return this.getGenre().equalsIgnoreCase(genreFilter);
-    }
-
-    @Override
-    public boolean matchesArtist(final String artistFilter) {
-        return this.getArtist().equalsIgnoreCase(artistFilter);
-    }
-
-    @Override
-    public boolean matchesReleaseYear(final String releaseYearFilter) {
-        return filterByYear(this.getReleaseYear(), releaseYearFilter);
-    }
-
-    private static boolean filterByYear(final int year, final String query) {
-        if (query.startsWith("<")) {
-            return year < Integer.parseInt(query.substring(1));
-        } else if (query.startsWith(">")) {
-            return year > Integer.parseInt(query.substring(1));
-        } else {
-            return year == Integer.parseInt(query);
-        }
-    }
-
-    /**
-     * Like.
-     */
-    public void like() {
-        likes++;
-    }
-
-    /**
-     * Dislike.
-     */
-    public void dislike() {
-        likes--;
-    }
-
-    @Override
-    public String toString() {
-        return getName() + " - " + getArtist();
-    }
-}
+package app.audio.Files;
+
+import app.audio.Collections.AudioCollection;
+import app.utils.SymbolTable;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Song. Its metadata is either held in its own fields or read from a
+ * mapped song store on every access; the likes always live on the heap. The
+ * album, tags, genre and artist are held as symbols of the symbol table of the
+ * catalog or run the song was made for.
+ */
+@Getter
+public final class Song extends AudioFile {
+    @Getter(AccessLevel.NONE)
+    private final SymbolTable symbols;
+    private final int album;
+    private final int[] tags;
+    private final String lyrics;
+    private final int genre;
+    private final Integer releaseYear;
+    private final int artist;
+    @Getter(AccessLevel.NONE)
+    private final MappedSongStore store;
+    @Getter(AccessLevel.NONE)
+    private final int record;
+    private Integer likes;
+    /** The albums and playlists holding the song, with how many times each does. */
+    @Getter(AccessLevel.NONE)
+    private Map<AudioCollection, Integer> collections;
+
+    /**
+     * Instantiates a new Song.
+     *
+     * @param symbols     the symbol table interning the album, tags, genre and artist
+     * @param name        the name
+     * @param duration    the duration
+     * @param album       the album
+     * @param tags        the tags
+     * @param lyrics      the lyrics
+     * @param genre       the genre
+     * @param releaseYear the release year
+     * @param artist      the artist
+     */
+    public Song(final SymbolTable symbols, final String name, final Integer duration,
+                final String album, final ArrayList<String> tags, final String lyrics,
+                final String genre, final Integer releaseYear, final String artist) {
+        super(name, duration);
+        this.symbols = symbols;
+        this.album = symbols.intern(album);
+        this.tags = tags == null ? null : tags.stream().mapToInt(symbols::intern).toArray();
+        this.lyrics = lyrics;
+        this.genre = symbols.intern(genre);
+        this.releaseYear = releaseYear;
+        this.artist = symbols.intern(artist);
+        this.store = null;
+        this.record = 0;
+        this.likes = 0;
+    }
+
+    /**
+     * Instantiates a new Song reading its metadata from a song store.
+     *
+     * @param store  the store
+     * @param record the position of the song in the store
+     */
+    public Song(final MappedSongStore store, final int record) {
+        super(null, null);
+        this.symbols = null;
+        this.album = SymbolTable.NONE;
+        this.tags = null;
+        this.lyrics = null;
+        this.genre = SymbolTable.NONE;
+        this.releaseYear = null;
+        this.artist = SymbolTable.NONE;
+        this.store = store;
+        this.record = record;
+        this.likes = 0;
+    }
+
+    /**
+     * Instantiates a new Song with the metadata of another one and no likes.
+     *
+     * @param song the song to copy
+     */
+    public Song(final Song song) {
+        super(song.store == null ? song.getName() : null,
+              song.store == null ? song.getDuration() : null);
+        this.symbols = song.symbols;
+        this.album = song.album;
+        this.tags = song.tags;
+        this.lyrics = song.lyrics;
+        this.genre = song.genre;
+        this.releaseYear = song.releaseYear;
+        this.artist = song.artist;
+        this.store = song.store;
+        this.record = song.record;
+        this.likes = 0;
+    }
+
+    @Override
+    public String getName() {
+        return store == null ? super.getName() : store.getName(record);
+    }
+
+    @Override
+    public Integer getDuration() {
+        return store == null ? super.getDuration() : store.getDuration(record);
+    }
+
+    /**
+     * Gets the album.
+     *
+     * @return the album
+     */
+    public String getAlbum() {
+        return store == null ? symbols.name(album) : store.getAlbum(record);
+    }
+
+    /**
+     * Gets the tags.
+     *
+     * @return the tags
+     */
+    public ArrayList<String> getTags() {
+        if (store != null) {
+            return store.getTags(record);
+        }
+        if (tags == null) {
+            return null;
+        }
+
+        ArrayList<String> names = new ArrayList<>(tags.length);
+        for (int tag : tags) {
+            names.add(symbols.name(tag));
+        }
+        return names;
+    }
+
+    /**
+     * Gets the lyrics.
+     *
+     * @return the lyrics
+     */
+    public String getLyrics() {
+        return store == null ? lyrics : store.getLyrics(record);
+    }
+
+    /**
+     * Gets the genre.
+     *
+     * @return the genre
+     */
+    public String getGenre() {
+        return store == null ? symbols.name(genre) : store.getGenre(record);
+    }
+
+    /**
+     * Gets the release year.
+     *
+     * @return the release year
+     */
+    public Integer getReleaseYear() {
+        return store == null ? releaseYear : store.getReleaseYear(record);
+    }
+
+    /**
+     * Gets the artist.
+     *
+     * @return the artist
+     */
+    public String getArtist() {
+        return store == null ? symbols.name(artist) : store.getArtist(record);
+    }
+
+    /**
+     * Gets the song id, its dense position in the song catalog.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return (int) getCatalogOrder();
+    }
+
+    /**
+     * Checks a symbol field against a filter, ignoring case, by comparing folded ids.
+     */
+    private boolean matchesSymbol(final int symbol, final String filter) {
+        int wanted = symbols.findFolded(filter);
+        return wanted != SymbolTable.NONE && symbols.folded(symbol) == wanted;
+    }
+
+    /**
+     * Checks a field read from the song store against a filter, ignoring case. The
+     * field is not interned, so the symbol table never holds the store's strings.
+     */
+    private static boolean matchesText(final String value, final String filter) {
+        return value != null && value.equalsIgnoreCase(filter);
+    }
+
+    @Override
+    public boolean matchesAlbum(final String albumName) {
+        return store == null ? matchesSymbol(album, albumName)
+                : matchesText(store.getAlbum(record), albumName);
+    }
+
+    @Override
+    public boolean matchesTags(final ArrayList<String> tagsList) {
+        if (store != null) {
+            List<String> songTags = store.getTags(record);
+            return tagsList.stream().allMatch(tag -> songTags.stream()
+                    .anyMatch(songTag -> matchesText(songTag, tag)));
+        }
+
+        for (String tag : tagsList) {
+            if (!hasFoldedTag(symbols.findFolded(tag))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasFoldedTag(final int wanted) {
+        if (wanted == SymbolTable.NONE) {
+            return false;
+        }
+        for (int tag : tags) {
+            if (symbols.folded(tag) == wanted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean matchesLyrics(final String lyricFilter) {
+        return this.getLyrics().toLowerCase().contains(lyricFilter.toLowerCase());
+    }
+
+    @Override
+    public boolean matchesGenre(final String genreFilter) {
+        return store == null ? matchesSymbol(genre, genreFilter)
+                : matchesText(store.getGenre(record), genreFilter);
+    }
+
+    @Override
+    public boolean matchesArtist(final String artistFilter) {
+        return store == null ? matchesSymbol(artist, artistFilter)
+                : matchesText(store.getArtist(record), artistFilter);
+    }
+
+    @Override
+    public boolean matchesReleaseYear(final String releaseYearFilter) {
+        Integer year = this.getReleaseYear();
+        return year != null && filterByYear(year, releaseYearFilter);
+    }
+
+    private static boolean filterByYear(final int year, final String query) {
+        if (query.startsWith("<")) {
+            return year < Integer.parseInt(query.substring(1));
+        } else if (query.startsWith(">")) {
+            return year > Integer.parseInt(query.substring(1));
+        } else {
+            return year == Integer.parseInt(query);
+        }
+    }
+
+    /**
+     * Like.
+     */
+    public void like() {
+        likes++;
+        likesChanged(1);
+    }
+
+    /**
+     * Dislike.
+     */
+    public void dislike() {
+        likes--;
+        likesChanged(-1);
+    }
+
+    /**
+     * Records that an album or playlist now holds this song, adding its likes there.
+     *
+     * @param collection the collection
+     */
+    public void addedTo(final AudioCollection collection) {
+        if (collections == null) {
+            collections = new IdentityHashMap<>(1);
+        }
+        collections.merge(collection, 1, Integer::sum);
+        collection.songLikesChanged(likes);
+    }
+
+    /**
+     * Records that a collection no longer holds this song, taking its likes back.
+     *
+     * @param collection the collection
+     */
+    public void removedFrom(final AudioCollection collection) {
+        Integer count = collections == null ? null : collections.get(collection);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            collections.put(collection, count - 1);
+        } else {
+            collections.remove(collection);
+        }
+        collection.songLikesChanged(-likes);
+    }
+
+    private void likesChanged(final int delta) {
+        if (collections != null) {
+            for (Map.Entry<AudioCollection, Integer> entry : collections.entrySet()) {
+                entry.getKey().songLikesChanged(delta * entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " - " + getArtist();
+    }
+}
@@ -1,6 +1,7 @@
 package app.audio;
 
 import lombok.Getter;
+import lombok.Setter;
 
 import java.util.ArrayList;
 
@@ -10,6 +11,11 @@ import java.util.ArrayList;
 @Getter
 public abstract class LibraryEntry {
     private final String name;
+    /**
+     * Position of the entry in the catalog listing; smaller values come first.
+     */
+    @Setter
+    private long catalogOrder;
 
     /**
      * Instantiates a new Library entry.
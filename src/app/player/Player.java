@@ -8,6 +8,7 @@ import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The type Player.
@@ -21,14 +22,19 @@ public final class Player {
     @Getter
     private String type;
     private final int skipTime = 90;
+    private int settledAt;
+    private final Consumer<PlayerSource> sourceListener;
 
     private ArrayList<PodcastBookmark> bookmarks = new ArrayList<>();
 
 
     /**
      * Instantiates a new Player.
+     *
+     * @param sourceListener told about every new source, or null once playback stops
      */
-    public Player() {
+    public Player(final Consumer<PlayerSource> sourceListener) {
+        this.sourceListener = sourceListener;
         this.repeatMode = Enums.RepeatMode.NO_REPEAT;
         this.paused = true;
     }
@@ -43,10 +49,15 @@ public final class Player {
 
         repeatMode = Enums.RepeatMode.NO_REPEAT;
         paused = true;
-        source = null;
+        changeSource(null);
         shuffle = false;
     }
 
+    private void changeSource(final PlayerSource next) {
+        source = next;
+        sourceListener.accept(next);
+    }
+
     private void bookmarkPodcast() {
         if (source != null && source.getAudioFile() != null) {
             PodcastBookmark currentBookmark =
@@ -104,7 +115,7 @@ public final class Player {
         }
 
         this.type = sourceType;
-        this.source = createSource(sourceType, entry, bookmarks);
+        changeSource(createSource(sourceType, entry, bookmarks));
         this.repeatMode = Enums.RepeatMode.NO_REPEAT;
         this.shuffle = false;
         this.paused = true;
@@ -177,6 +188,7 @@ public final class Player {
                 if (paused) {
                     break;
                 }
+                elapsedTime = skipAhead(elapsedTime);
             }
             if (!paused) {
                 source.skip(-elapsedTime);
@@ -184,6 +196,41 @@ public final class Player {
         }
     }
 
+    /**
+     * Jumps over the repetitions and tracks the elapsed time fully plays through,
+     * right after the player moved to the start of a track.
+     */
+    private int skipAhead(final int elapsedTime) {
+        if (repeatMode == Enums.RepeatMode.REPEAT_CURRENT_SONG
+                || repeatMode == Enums.RepeatMode.REPEAT_INFINITE) {
+            int duration = source.getDuration();
+            return duration > 0 ? elapsedTime % duration : elapsedTime;
+        }
+
+        return source.skipTracks(elapsedTime, repeatMode, shuffle);
+    }
+
+    /**
+     * Plays the time passed since the player was last settled.
+     *
+     * @param timestamp the current timestamp
+     */
+    public void catchUp(final int timestamp) {
+        if (timestamp > settledAt) {
+            simulatePlayer(timestamp - settledAt);
+        }
+        settledAt = timestamp;
+    }
+
+    /**
+     * Settles the player without playing the time passed since the last settlement.
+     *
+     * @param timestamp the current timestamp
+     */
+    public void holdUntil(final int timestamp) {
+        settledAt = timestamp;
+    }
+
     /**
      * Next.
      */
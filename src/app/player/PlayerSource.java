@@ -5,11 +5,6 @@ import app.audio.Files.AudioFile;
 import app.utils.Enums;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
-
 /**
  * The type Player source.
  */
@@ -24,7 +19,9 @@ public class PlayerSource {
     private int index;
     private int indexShuffled;
     private int remainedDuration;
-    private final List<Integer> indices = new ArrayList<>();
+    private ShuffleOrder shuffleOrder = ShuffleOrder.EMPTY;
+    private long[] shuffledSums;
+    private int shuffledSumsVersion;
 
     /**
      * Instantiates a new Player source.
@@ -104,13 +101,13 @@ public class PlayerSource {
                 remainedDuration = audioFile.getDuration();
             } else if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
                 if (shuffle) {
-                    if (indexShuffled == indices.size() - 1) {
+                    if (indexShuffled == shuffleOrder.size() - 1) {
                         remainedDuration = 0;
                         isPaused = true;
                     } else {
                         indexShuffled++;
 
-                        index = indices.get(indexShuffled);
+                        index = shuffleOrder.trackAt(indexShuffled);
                         updateAudioFile();
                         remainedDuration = audioFile.getDuration();
                     }
@@ -126,8 +123,8 @@ public class PlayerSource {
                 }
             } else if (repeatMode == Enums.RepeatMode.REPEAT_ALL) {
                 if (shuffle) {
-                    indexShuffled = (indexShuffled + 1) % indices.size();
-                    index = indices.get(indexShuffled);
+                    indexShuffled = (indexShuffled + 1) % shuffleOrder.size();
+                    index = shuffleOrder.trackAt(indexShuffled);
                 } else {
                     index = (index + 1) % audioCollection.getNumberOfTracks();
                 }
@@ -139,6 +136,93 @@ public class PlayerSource {
         return isPaused;
     }
 
+    /**
+     * Moves over every track the elapsed time plays through, landing where the
+     * same number of setNextAudioFile calls would. Covers collections in
+     * NO_REPEAT and REPEAT_ALL; whole REPEAT_ALL cycles are skipped at once.
+     * Must be called at the start of the current track. In NO_REPEAT it stops on
+     * the last track, so the caller's next step ends the collection as usual.
+     *
+     * @param elapsed    the time left to play
+     * @param repeatMode the repeat mode
+     * @param shuffle    the shuffle
+     * @return the time left to play on the track it landed on
+     */
+    public int skipTracks(final int elapsed, final Enums.RepeatMode repeatMode,
+                          final boolean shuffle) {
+        if (type == Enums.PlayerSourceType.LIBRARY
+                || (repeatMode != Enums.RepeatMode.NO_REPEAT
+                    && repeatMode != Enums.RepeatMode.REPEAT_ALL)) {
+            return elapsed;
+        }
+
+        int tracks = audioCollection.getNumberOfTracks();
+        int position = shuffle ? indexShuffled : index;
+        if (position < 0 || position >= tracks || (shuffle && shuffleOrder.size() != tracks)) {
+            return elapsed;
+        }
+
+        long[] sums = shuffle ? shuffledSums() : audioCollection.getDurationSums();
+        long left = elapsed;
+        long target;
+        if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
+            target = sums[position] + left;
+        } else {
+            if (sums[tracks] == 0) {
+                return elapsed;
+            }
+            left %= sums[tracks];
+            target = sums[position] + left;
+            if (target >= sums[tracks]) {
+                target -= sums[tracks];
+            }
+        }
+
+        int landing = lastAtMost(sums, tracks - 1, target);
+        if (landing != position) {
+            if (shuffle) {
+                indexShuffled = landing;
+                index = shuffleOrder.trackAt(indexShuffled);
+            } else {
+                index = landing;
+            }
+            updateAudioFile();
+            remainedDuration = audioFile.getDuration();
+        }
+        return (int) (target - sums[landing]);
+    }
+
+    /**
+     * Finds the last position, up to the given one, whose running total does not
+     * exceed the target.
+     */
+    private static int lastAtMost(final long[] sums, final int last, final long target) {
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (sums[middle] <= target) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private long[] shuffledSums() {
+        if (shuffledSums == null || shuffledSumsVersion != audioCollection.getTrackVersion()) {
+            long[] sums = new long[shuffleOrder.size() + 1];
+            for (int i = 0; i < shuffleOrder.size(); i++) {
+                sums[i + 1] = sums[i] + audioCollection.getTrackByIndex(shuffleOrder.trackAt(i))
+                        .getDuration();
+            }
+            shuffledSums = sums;
+            shuffledSumsVersion = audioCollection.getTrackVersion();
+        }
+        return shuffledSums;
+    }
+
     /**
      * Sets prev audio file.
      *
@@ -155,7 +239,7 @@ public class PlayerSource {
                     if (indexShuffled > 0) {
                         indexShuffled--;
                     }
-                    index = indices.get(indexShuffled);
+                    index = shuffleOrder.trackAt(indexShuffled);
                     updateAudioFile();
                     remainedDuration = audioFile.getDuration();
                 } else {
@@ -175,23 +259,17 @@ public class PlayerSource {
      * @param seed the seed
      */
     public void generateShuffleOrder(final Integer seed) {
-        indices.clear();
-        Random random = new Random(seed);
-        for (int i = 0; i < audioCollection.getNumberOfTracks(); i++) {
-            indices.add(i);
-        }
-        Collections.shuffle(indices, random);
+        shuffleOrder = audioCollection.getShuffleOrder(seed);
+        shuffledSums = null;
     }
 
     /**
      * Update shuffle index.
      */
     public void updateShuffleIndex() {
-        for (int i = 0; i < indices.size(); i++) {
-            if (indices.get(i) == index) {
-                indexShuffled = i;
-                break;
-            }
+        int position = shuffleOrder.positionOf(index);
+        if (position >= 0) {
+            indexShuffled = position;
         }
     }
 
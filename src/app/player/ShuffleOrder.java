@@ -0,0 +1,76 @@
+package app.player;
+
+import java.util.Random;
+
+/**
+ * A shuffled play order over a collection's tracks, with its inverse. Built
+ * exactly like Collections.shuffle over the list of track indices, so the same
+ * seed gives the same order.
+ */
+public final class ShuffleOrder {
+    /** The order of a collection that was never shuffled. */
+    public static final ShuffleOrder EMPTY = new ShuffleOrder(new int[0]);
+
+    private final int[] tracks;
+    private final int[] positions;
+
+    private ShuffleOrder(final int[] tracks) {
+        this.tracks = tracks;
+        this.positions = new int[tracks.length];
+        for (int position = 0; position < tracks.length; position++) {
+            positions[tracks[position]] = position;
+        }
+    }
+
+    /**
+     * Shuffles the indices of a collection's tracks.
+     *
+     * @param size the number of tracks
+     * @param seed the seed
+     * @return the shuffle order
+     */
+    public static ShuffleOrder generate(final int size, final long seed) {
+        int[] tracks = new int[size];
+        for (int i = 0; i < size; i++) {
+            tracks[i] = i;
+        }
+
+        Random random = new Random(seed);
+        for (int i = size; i > 1; i--) {
+            int swap = random.nextInt(i);
+            int track = tracks[i - 1];
+            tracks[i - 1] = tracks[swap];
+            tracks[swap] = track;
+        }
+        return new ShuffleOrder(tracks);
+    }
+
+    /**
+     * Gets the number of tracks in the order.
+     *
+     * @return the size
+     */
+    public int size() {
+        return tracks.length;
+    }
+
+    /**
+     * Gets the track played at a position of the order.
+     *
+     * @param position the position
+     * @return the track index
+     */
+    public int trackAt(final int position) {
+        return tracks[position];
+    }
+
+    /**
+     * Gets the position a track is played at.
+     *
+     * @param track the track index
+     * @return the position, or -1 if the track is not part of the order
+     */
+    public int positionOf(final int track) {
+        return track >= 0 && track < positions.length ? positions[track] : -1;
+    }
+}
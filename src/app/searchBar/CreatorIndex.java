@@ -0,0 +1,78 @@
+package app.searchBar;
+
+import app.user.Account;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Case-folded prefix index over creator usernames.
+ */
+public final class CreatorIndex {
+    private final TreeMap<String, List<Account>> accounts = new TreeMap<>();
+
+    /**
+     * Adds an account.
+     *
+     * @param account the account
+     */
+    public void add(final Account account) {
+        accounts.computeIfAbsent(key(account), key -> new ArrayList<>()).add(account);
+    }
+
+    /**
+     * Removes an account.
+     *
+     * @param account the account
+     */
+    public void remove(final Account account) {
+        String key = key(account);
+        List<Account> sameName = accounts.get(key);
+        if (sameName == null) {
+            return;
+        }
+
+        sameName.remove(account);
+        if (sameName.isEmpty()) {
+            accounts.remove(key);
+        }
+    }
+
+    /**
+     * Clears the index.
+     */
+    public void clear() {
+        accounts.clear();
+    }
+
+    /**
+     * Gets the usernames starting with the given prefix, ignoring case.
+     *
+     * @param prefix the username prefix
+     * @return the matching usernames, in registration order
+     */
+    public List<String> withPrefix(final String prefix) {
+        String key = prefix.toLowerCase();
+        List<Account> matches = new ArrayList<>();
+        for (Map.Entry<String, List<Account>> entry : accounts.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            matches.addAll(entry.getValue());
+        }
+
+        matches.sort(Comparator.comparingInt(Account::getOrdinal));
+        List<String> usernames = new ArrayList<>(matches.size());
+        for (Account account : matches) {
+            usernames.add(account.getUser().getUsername());
+        }
+        return usernames;
+    }
+
+    private static String key(final Account account) {
+        return account.getUser().getUsername().toLowerCase();
+    }
+}
@@ -158,6 +158,35 @@ public final class FilterUtils {
         return filter(entries, entry -> entry.matchesFollowers(followers));
     }
 
+    /**
+     * Filters the entries against all the criteria in a single pass, feeding the
+     * matches to the collector until it is full. Each entry is checked in
+     * criteria order and dropped at the first one it fails.
+     *
+     * @param entries   the entries
+     * @param criteria  the criteria
+     * @param collector the collector
+     */
+    public static void filterByAll(final List<? extends LibraryEntry> entries,
+                                   final List<FilterCriteria> criteria,
+                                   final ResultCollector<LibraryEntry> collector) {
+        for (LibraryEntry entry : entries) {
+            if (matchesAll(entry, criteria) && !collector.offer(entry)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean matchesAll(final LibraryEntry entry,
+                                      final List<FilterCriteria> criteria) {
+        for (FilterCriteria criterion : criteria) {
+            if (!criterion.matches(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static List<LibraryEntry> filter(final List<LibraryEntry> entries,
                                              final FilterCriteria criteria) {
         List<LibraryEntry> result = new ArrayList<>();
@@ -169,8 +198,11 @@ public final class FilterUtils {
         return result;
     }
 
+    /**
+     * A single search criterion.
+     */
     @FunctionalInterface
-    private interface FilterCriteria {
+    interface FilterCriteria {
         /**
          * Matches boolean.
          *
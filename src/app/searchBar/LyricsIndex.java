@@ -0,0 +1,162 @@
+package app.searchBar;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trigram inverted index over lowercased song lyrics, keyed by song id. Only the
+ * postings are kept, not the lyrics: candidates are confirmed against the songs,
+ * so lyrics read from a song store never all sit on the heap.
+ */
+public final class LyricsIndex {
+    private static final int GRAM = 3;
+    private static final int CHAR_BITS = Character.SIZE;
+    private final PostingMap<Long> postings;
+
+    /**
+     * Instantiates a new, empty Lyrics index.
+     */
+    public LyricsIndex() {
+        postings = new PostingMap<>(HashMap::new);
+    }
+
+    private LyricsIndex(final LyricsIndex frozen) {
+        postings = frozen.postings.fork();
+    }
+
+    /**
+     * Marks every posting list as shared; see SongIndex.freeze.
+     */
+    public void freeze() {
+        postings.freeze();
+    }
+
+    /**
+     * Starts an index reading through to this one, which must not change anymore.
+     *
+     * @return the fork
+     */
+    public LyricsIndex fork() {
+        return new LyricsIndex(this);
+    }
+
+    /**
+     * Adds the lyrics of a song.
+     *
+     * @param id         the song id
+     * @param songLyrics the lyrics
+     */
+    public void add(final int id, final String songLyrics) {
+        if (songLyrics == null) {
+            return;
+        }
+
+        String normalized = songLyrics.toLowerCase();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            postings.post(gram(normalized, i), id);
+        }
+    }
+
+    /**
+     * Removes the lyrics of a song.
+     *
+     * @param id         the song id
+     * @param songLyrics the lyrics it was added with
+     */
+    public void remove(final int id, final String songLyrics) {
+        if (songLyrics == null) {
+            return;
+        }
+
+        String normalized = songLyrics.toLowerCase();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            postings.unpost(gram(normalized, i), id);
+        }
+    }
+
+    /**
+     * Posts prebuilt trigram lists, as exported by another index.
+     *
+     * @param built the ids by trigram
+     */
+    void load(final Map<Long, int[]> built) {
+        postings.load(built);
+    }
+
+    /**
+     * Gets the ids of every trigram.
+     *
+     * @return the ids by trigram
+     */
+    Map<Long, int[]> export() {
+        return postings.export();
+    }
+
+    /**
+     * Clears the index.
+     */
+    public void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Checks if the index can narrow down a filter.
+     *
+     * @param normalized the lowercased filter
+     * @return the boolean
+     */
+    public boolean covers(final String normalized) {
+        return normalized.length() >= GRAM;
+    }
+
+    /**
+     * Estimates how many songs may match a covered filter, as the size of its
+     * rarest trigram.
+     *
+     * @param normalized the lowercased filter
+     * @return the estimate
+     */
+    public int estimate(final String normalized) {
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            PostingList posting = postings.get(gram(normalized, i));
+            if (posting == null) {
+                return 0;
+            }
+            estimate = Math.min(estimate, posting.getSize());
+        }
+        return estimate;
+    }
+
+    /**
+     * Gets the ids holding every trigram of a covered filter. This is a superset
+     * of the matching ids; confirm each one against the song's lyrics.
+     *
+     * @param normalized the lowercased filter
+     * @return the candidate ids
+     */
+    public BitSet candidates(final String normalized) {
+        BitSet ids = null;
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            PostingList posting = postings.get(gram(normalized, i));
+            if (posting == null) {
+                return new BitSet();
+            }
+            if (ids == null) {
+                ids = (BitSet) posting.getIds().clone();
+            } else {
+                ids.and(posting.getIds());
+            }
+        }
+        return ids;
+    }
+
+    private static long gram(final String text, final int start) {
+        long key = 0;
+        for (int i = start; i < start + GRAM; i++) {
+            key = (key << CHAR_BITS) | text.charAt(i);
+        }
+        return key;
+    }
+}
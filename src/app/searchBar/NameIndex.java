@@ -0,0 +1,73 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Case-folded prefix index over entry names.
+ *
+ * @param <T> the indexed entry type
+ */
+public final class NameIndex<T extends LibraryEntry> {
+    private final TreeMap<String, List<T>> entries = new TreeMap<>();
+
+    /**
+     * Adds an entry.
+     *
+     * @param entry the entry
+     */
+    public void add(final T entry) {
+        entries.computeIfAbsent(entry.getName().toLowerCase(), key -> new ArrayList<>())
+                .add(entry);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        String key = entry.getName().toLowerCase();
+        List<T> sameName = entries.get(key);
+        if (sameName == null) {
+            return;
+        }
+
+        sameName.removeIf(indexed -> indexed == entry);
+        if (sameName.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Clears the index.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the entries whose name starts with the given prefix, ignoring case.
+     *
+     * @param prefix the name prefix
+     * @return the matching entries, in catalog order
+     */
+    public List<T> withPrefix(final String prefix) {
+        String key = prefix.toLowerCase();
+        List<T> result = new ArrayList<>();
+        for (Map.Entry<String, List<T>> entry : entries.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            result.addAll(entry.getValue());
+        }
+
+        result.sort(Comparator.comparingLong(LibraryEntry::getCatalogOrder));
+        return result;
+    }
+}
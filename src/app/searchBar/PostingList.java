@@ -0,0 +1,174 @@
+package app.searchBar;
+
+import lombok.Getter;
+
+import java.util.BitSet;
+
+/**
+ * The ids posted under one index key, with their count kept as a statistic.
+ * <p>
+ * Most keys of a unique field, such as song names, hold a single id, and a bitmap
+ * as wide as that id would dwarf it; so a list holds its only id as is and
+ * switches to a bitmap on the second one.
+ */
+public final class PostingList {
+    private static final int NONE = -1;
+
+    private BitSet ids;
+    private int single = NONE;
+    @Getter
+    private int size;
+    @Getter
+    private boolean frozen;
+
+    /**
+     * Instantiates a new, empty Posting list.
+     */
+    public PostingList() {
+    }
+
+    /**
+     * Instantiates a new Posting list over prebuilt ids.
+     *
+     * @param sorted the ids, in increasing order without repeats
+     */
+    PostingList(final int[] sorted) {
+        size = sorted.length;
+        if (size == 1) {
+            single = sorted[0];
+        } else if (size > 1) {
+            ids = new BitSet(sorted[size - 1] + 1);
+            for (int id : sorted) {
+                ids.set(id);
+            }
+        }
+    }
+
+    /**
+     * Marks the list as shared between indexes. A frozen list is never changed
+     * again; indexes replace it with a copy before writing to it.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Copies the list. The copy is not frozen.
+     *
+     * @return the copy
+     */
+    public PostingList copy() {
+        PostingList copy = new PostingList();
+        copy.ids = ids == null ? null : (BitSet) ids.clone();
+        copy.single = single;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Gets the ids. For a list of one id the bitmap is made on every call, so do
+     * not change it to change the list.
+     *
+     * @return the ids
+     */
+    public BitSet getIds() {
+        if (ids != null) {
+            return ids;
+        }
+        BitSet result = new BitSet();
+        addTo(result);
+        return result;
+    }
+
+    /**
+     * Sets the bits of every id in a bitmap.
+     *
+     * @param target the bitmap
+     */
+    public void addTo(final BitSet target) {
+        if (ids != null) {
+            target.or(ids);
+        } else if (single != NONE) {
+            target.set(single);
+        }
+    }
+
+    /**
+     * Gets the ids in increasing order.
+     *
+     * @return the ids
+     */
+    public int[] toArray() {
+        if (ids != null) {
+            return ids.stream().toArray();
+        }
+        return single == NONE ? new int[0] : new int[] {single};
+    }
+
+    /**
+     * Adds an id.
+     *
+     * @param id the id
+     */
+    public void add(final int id) {
+        if (contains(id)) {
+            return;
+        }
+        if (ids == null && single == NONE) {
+            single = id;
+        } else {
+            if (ids == null) {
+                ids = new BitSet();
+                ids.set(single);
+                single = NONE;
+            }
+            ids.set(id);
+        }
+        size++;
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @param id the id
+     */
+    public void remove(final int id) {
+        if (!contains(id)) {
+            return;
+        }
+        if (ids == null) {
+            single = NONE;
+        } else {
+            ids.clear(id);
+        }
+        size--;
+    }
+
+    /**
+     * Removes every id.
+     */
+    public void clear() {
+        ids = null;
+        single = NONE;
+        size = 0;
+    }
+
+    /**
+     * Checks if an id is posted.
+     *
+     * @param id the id
+     * @return the boolean
+     */
+    public boolean contains(final int id) {
+        return ids != null ? ids.get(id) : id == single;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return the boolean
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,172 @@
+package app.searchBar;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Posting lists by key, read through to the frozen map of the index this one
+ * was forked from. Writes only touch the lists held here: a base list is
+ * copied the first time it is written to, and an emptied key is shadowed by an
+ * empty list.
+ *
+ * @param <K> the key type
+ */
+final class PostingMap<K> {
+    private final Supplier<Map<K, PostingList>> factory;
+    private Map<K, PostingList> base;
+    private final Map<K, PostingList> own;
+
+    /**
+     * Instantiates a new, empty Posting map.
+     *
+     * @param factory makes the backing maps; sorted ones allow range reads
+     */
+    PostingMap(final Supplier<Map<K, PostingList>> factory) {
+        this.factory = factory;
+        base = factory.get();
+        own = factory.get();
+    }
+
+    private PostingMap(final PostingMap<K> frozen) {
+        factory = frozen.factory;
+        base = frozen.own;
+        own = factory.get();
+    }
+
+    /**
+     * Marks every list held here as shared.
+     */
+    void freeze() {
+        own.values().forEach(PostingList::freeze);
+    }
+
+    /**
+     * Starts a map reading through to this one, which must not change anymore.
+     *
+     * @return the fork
+     */
+    PostingMap<K> fork() {
+        return new PostingMap<>(this);
+    }
+
+    /**
+     * Gets the posting list of a key.
+     *
+     * @param key the key
+     * @return the list, or null if nothing is posted under the key
+     */
+    PostingList get(final K key) {
+        PostingList posting = own.containsKey(key) ? own.get(key) : base.get(key);
+        return posting == null || posting.isEmpty() ? null : posting;
+    }
+
+    /**
+     * Posts an id under a key.
+     *
+     * @param key the key, ignored if null
+     * @param id  the id
+     */
+    void post(final K key, final int id) {
+        if (key != null) {
+            writable(key).add(id);
+        }
+    }
+
+    /**
+     * Removes an id from under a key.
+     *
+     * @param key the key, ignored if null
+     * @param id  the id
+     */
+    void unpost(final K key, final int id) {
+        if (key != null && get(key) != null) {
+            PostingList posting = writable(key);
+            posting.remove(id);
+            if (posting.isEmpty() && !base.containsKey(key)) {
+                own.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Posts prebuilt lists.
+     *
+     * @param built the ids by key, each in increasing order
+     */
+    void load(final Map<K, int[]> built) {
+        for (Map.Entry<K, int[]> entry : built.entrySet()) {
+            own.put(entry.getKey(), new PostingList(entry.getValue()));
+        }
+    }
+
+    /**
+     * Gets the ids of every non-empty list, base and own, by key.
+     *
+     * @return the ids by key, each in increasing order
+     */
+    Map<K, int[]> export() {
+        Map<K, int[]> ids = new HashMap<>();
+        for (Map<K, PostingList> postings : List.of(base, own)) {
+            for (Map.Entry<K, PostingList> entry : postings.entrySet()) {
+                ids.put(entry.getKey(), entry.getValue().toArray());
+            }
+        }
+        ids.values().removeIf(list -> list.length == 0);
+        return ids;
+    }
+
+    /**
+     * Removes every key, including those of the base.
+     */
+    void clear() {
+        base = factory.get();
+        own.clear();
+    }
+
+    /**
+     * Gets the non-empty lists of a key range of a sorted map.
+     *
+     * @param view   picks the range out of a backing map
+     * @param within tells whether a key of the picked range still belongs to it;
+     *               the range ends at the first key that does not
+     * @return the lists of the range, by key
+     */
+    Map<K, PostingList> range(
+            final Function<NavigableMap<K, PostingList>, Map<K, PostingList>> view,
+            final Predicate<K> within) {
+        Map<K, PostingList> range = new TreeMap<>();
+        collect(view.apply((NavigableMap<K, PostingList>) base), within, range);
+        collect(view.apply((NavigableMap<K, PostingList>) own), within, range);
+        range.values().removeIf(PostingList::isEmpty);
+        return range;
+    }
+
+    private static <K> void collect(final Map<K, PostingList> from, final Predicate<K> within,
+                                    final Map<K, PostingList> into) {
+        for (Map.Entry<K, PostingList> entry : from.entrySet()) {
+            if (!within.test(entry.getKey())) {
+                break;
+            }
+            into.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private PostingList writable(final K key) {
+        PostingList posting = own.get(key);
+        if (posting == null) {
+            PostingList shared = base.get(key);
+            posting = shared == null ? new PostingList() : shared.copy();
+            own.put(key, posting);
+        } else if (posting.isFrozen()) {
+            posting = posting.copy();
+            own.put(key, posting);
+        }
+        return posting;
+    }
+}
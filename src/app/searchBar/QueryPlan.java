@@ -0,0 +1,76 @@
+package app.searchBar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Debug report of how a search was planned and where its time went.
+ * Reports are printed to standard error only when the search.debug property
+ * is set at start.
+ */
+public final class QueryPlan {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final boolean DEBUG = Boolean.getBoolean("search.debug");
+    private final String type;
+    private final List<String> steps = new ArrayList<>();
+    private final List<String> timings = new ArrayList<>();
+    private long mark;
+
+    /**
+     * Instantiates a new Query plan.
+     *
+     * @param type the searched type
+     */
+    public QueryPlan(final String type) {
+        this.type = type;
+        if (DEBUG) {
+            mark = System.nanoTime();
+        }
+    }
+
+    /**
+     * Checks if debug reports are on.
+     *
+     * @return the boolean
+     */
+    public static boolean isDebug() {
+        return DEBUG;
+    }
+
+    /**
+     * Records the next step of the plan.
+     *
+     * @param label    the step description
+     * @param estimate the estimated number of matching entries
+     */
+    public void step(final String label, final int estimate) {
+        if (DEBUG) {
+            steps.add(label + " ~" + estimate);
+        }
+    }
+
+    /**
+     * Records the time spent since the previous stage.
+     *
+     * @param stage the finished stage
+     */
+    public void lap(final String stage) {
+        if (DEBUG) {
+            long now = System.nanoTime();
+            timings.add("%s %.3fms".formatted(stage, (now - mark) / NANOS_PER_MILLI));
+            mark = now;
+        }
+    }
+
+    /**
+     * Prints the report.
+     *
+     * @param results the number of results
+     */
+    public void report(final int results) {
+        if (DEBUG) {
+            System.err.println("[search " + type + "] plan " + steps + ", " + timings
+                    + ", " + results + " results");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package app.searchBar;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects search results in the order they are offered and tells the
+ * producer to stop once the limit is reached.
+ *
+ * @param <T> the result type
+ */
+public final class ResultCollector<T> {
+    @Getter
+    private final int limit;
+    @Getter
+    private final List<T> results = new ArrayList<>();
+
+    /**
+     * Instantiates a new Result collector.
+     *
+     * @param limit the maximum number of results
+     */
+    public ResultCollector(final int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Adds a result, unless the collector is already full.
+     *
+     * @param result the result
+     * @return whether more results are wanted
+     */
+    public boolean offer(final T result) {
+        if (results.size() < limit) {
+            results.add(result);
+        }
+        return !isFull();
+    }
+
+    /**
+     * Checks if the limit has been reached.
+     *
+     * @return the boolean
+     */
+    public boolean isFull() {
+        return results.size() >= limit;
+    }
+}
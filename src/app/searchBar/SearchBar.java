@@ -2,23 +2,14 @@ package app.searchBar;
 
 
 import app.Admin;
+import app.audio.Collections.Album;
 import app.audio.LibraryEntry;
-import app.user.GenericUser;
+import app.searchBar.FilterUtils.FilterCriteria;
 import lombok.Getter;
 import java.util.ArrayList;
 import java.util.List;
 
-import static app.searchBar.FilterUtils.filterByAlbum;
-import static app.searchBar.FilterUtils.filterByArtist;
-import static app.searchBar.FilterUtils.filterByFollowers;
-import static app.searchBar.FilterUtils.filterByGenre;
-import static app.searchBar.FilterUtils.filterByLyrics;
-import static app.searchBar.FilterUtils.filterByName;
-import static app.searchBar.FilterUtils.filterByOwner;
-import static app.searchBar.FilterUtils.filterByPlaylistVisibility;
-import static app.searchBar.FilterUtils.filterByReleaseYear;
-import static app.searchBar.FilterUtils.filterByTags;
-import static app.searchBar.FilterUtils.filterByDescription;
+import static app.searchBar.FilterUtils.filterByAll;
 
 
 /**
@@ -27,6 +18,7 @@ import static app.searchBar.FilterUtils.filterByDescription;
 public final class SearchBar {
     private List<LibraryEntry> results;
     private ArrayList<String> creatorResults;
+    private final Admin admin;
     private final String user;
     private static final Integer MAX_RESULTS = 5;
     @Getter
@@ -37,9 +29,11 @@ public final class SearchBar {
     /**
      * Instantiates a new Search bar.
      *
-     * @param user the user
+     * @param admin the simulation to search in
+     * @param user  the user
      */
-    public SearchBar(final String user) {
+    public SearchBar(final Admin admin, final String user) {
+        this.admin = admin;
         this.results = new ArrayList<>();
         this.creatorResults = new ArrayList<>();
         this.user = user;
@@ -61,98 +55,95 @@ public final class SearchBar {
      * @return the list
      */
     public List<LibraryEntry> search(final Filters filters, final String type) {
+        this.results = admin.getSearchCache().get(filters, type, user,
+                admin.getCatalogVersion(type), () -> find(filters, type));
+        this.lastSearchType = type;
+        return this.results;
+    }
+
+    private List<LibraryEntry> find(final Filters filters, final String type) {
         List<LibraryEntry> entries;
+        QueryPlan plan = new QueryPlan(type);
+        ResultCollector<LibraryEntry> collector = new ResultCollector<>(MAX_RESULTS);
 
         switch (type) {
             case "song":
-                entries = new ArrayList<>(Admin.getInstance().getSongs());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getAlbum() != null) {
-                    entries = filterByAlbum(entries, filters.getAlbum());
-                }
-
-                if (filters.getTags() != null) {
-                    entries = filterByTags(entries, filters.getTags());
-                }
-
-                if (filters.getLyrics() != null) {
-                    entries = filterByLyrics(entries, filters.getLyrics());
-                }
-
-                if (filters.getGenre() != null) {
-                    entries = filterByGenre(entries, filters.getGenre());
-                }
-
-                if (filters.getReleaseYear() != null) {
-                    entries = filterByReleaseYear(entries, filters.getReleaseYear());
-                }
-
-                if (filters.getArtist() != null) {
-                    entries = filterByArtist(entries, filters.getArtist());
-                }
+                admin.getSongIndex().search(filters, collector, plan);
+                entries = collector.getResults();
 
                 break;
             case "playlist":
-                entries = new ArrayList<>(Admin.getInstance().getPlaylists());
-
-                entries = filterByPlaylistVisibility(entries, user);
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
-                }
-
-                if (filters.getFollowers() != null) {
-                    entries = filterByFollowers(entries, filters.getFollowers());
-                }
+                filterByAll(candidates(admin.getPlaylistNames(),
+                        admin.getPlaylists(), filters, plan),
+                        playlistCriteria(filters), collector);
+                entries = collector.getResults();
 
                 break;
             case "podcast":
-                entries = new ArrayList<>(Admin.getInstance().getPodcasts());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
-                }
+                filterByAll(candidates(admin.getPodcastNames(),
+                        admin.getPodcasts(), filters, plan),
+                        ownerCriteria(filters), collector);
+                entries = collector.getResults();
 
                 break;
             case "album":
-                entries = new ArrayList<>(Admin.getInstance().getAlbums());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
-                }
-
+                List<FilterCriteria> criteria = ownerCriteria(filters);
                 if (filters.getDescription() != null) {
-                    entries = filterByDescription(entries, filters.getDescription());
+                    criteria.add(entry -> ((Album) entry).matchesDescription(
+                            filters.getDescription()));
                 }
+                filterByAll(candidates(admin.getAlbumNames(),
+                        admin.getAlbums(), filters, plan), criteria, collector);
+                entries = collector.getResults();
 
                 break;
             default:
                 entries = new ArrayList<>();
         }
 
-        while (entries.size() > MAX_RESULTS) {
-            entries.remove(entries.size() - 1);
+        if (!type.equals("song")) {
+            plan.lap("scan");
         }
+        plan.report(entries.size());
 
-        this.results = entries;
-        this.lastSearchType = type;
-        return this.results;
+        return entries;
+    }
+
+    /**
+     * Picks the entries a collection search starts from: the name index when a
+     * name is given, otherwise the whole collection.
+     */
+    private static <T extends LibraryEntry> List<T> candidates(
+            final NameIndex<T> names, final List<T> all, final Filters filters,
+            final QueryPlan plan) {
+        List<T> candidates;
+        if (filters.getName() != null) {
+            candidates = names.withPrefix(filters.getName());
+            plan.step("name", candidates.size());
+        } else {
+            candidates = all;
+            plan.step("all", candidates.size());
+        }
+        plan.lap("drive");
+        return candidates;
+    }
+
+    private List<FilterCriteria> playlistCriteria(final Filters filters) {
+        List<FilterCriteria> criteria = new ArrayList<>();
+        criteria.add(entry -> entry.isVisibleToUser(user));
+        criteria.addAll(ownerCriteria(filters));
+        if (filters.getFollowers() != null) {
+            criteria.add(entry -> entry.matchesFollowers(filters.getFollowers()));
+        }
+        return criteria;
+    }
+
+    private static List<FilterCriteria> ownerCriteria(final Filters filters) {
+        List<FilterCriteria> criteria = new ArrayList<>();
+        if (filters.getOwner() != null) {
+            criteria.add(entry -> entry.matchesOwner(filters.getOwner()));
+        }
+        return criteria;
     }
 
     /**
@@ -182,28 +173,15 @@ public final class SearchBar {
      * @return the list
      */
     public ArrayList<String> searchCreator(final String username, final String type) {
-        ArrayList<GenericUser> creators;
         ArrayList<String> resultUsers = new ArrayList<>();
 
         switch (type) {
             case "artist":
-                creators = new ArrayList<>(Admin.getInstance().getArtists());
-
-                for (GenericUser creator : creators) {
-                    if (creator.getUsername().toLowerCase().startsWith(username.toLowerCase())) {
-                        resultUsers.add(creator.getUsername());
-                    }
-                }
+                resultUsers.addAll(admin.getArtistNames().withPrefix(username));
                 lastSearchType = "artist";
                 break;
             case "host":
-                creators = new ArrayList<>(Admin.getInstance().getHosts());
-
-                for (GenericUser creator : creators) {
-                    if (creator.getUsername().toLowerCase().startsWith(username.toLowerCase())) {
-                        resultUsers.add(creator.getUsername());
-                    }
-                }
+                resultUsers.addAll(admin.getHostNames().withPrefix(username));
                 lastSearchType = "host";
                 break;
             default:
@@ -0,0 +1,125 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+import app.utils.TextUtils;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results. Each result remembers the catalog
+ * version it was computed against and is recomputed once that version moves.
+ */
+public final class SearchCache {
+    private static final float LOAD_FACTOR = 0.75f;
+    private final Map<List<Object>, Cached> entries;
+    @Getter
+    private long hits;
+    @Getter
+    private long misses;
+
+    /**
+     * Instantiates a new Search cache.
+     *
+     * @param capacity the maximum number of cached results
+     */
+    public SearchCache(final int capacity) {
+        entries = new LinkedHashMap<>(capacity, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Object>, Cached> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached results of a search, computing them on a miss.
+     *
+     * @param filters the filters
+     * @param type    the searched type
+     * @param user    the searching user
+     * @param version the current catalog version of the searched type
+     * @param search  computes the results
+     * @return a fresh copy of the results
+     */
+    public List<LibraryEntry> get(final Filters filters, final String type, final String user,
+                                  final long version, final Supplier<List<LibraryEntry>> search) {
+        List<Object> key = key(filters, type, user);
+        Cached cached = entries.get(key);
+        if (cached != null && cached.version == version) {
+            hits++;
+        } else {
+            misses++;
+            cached = new Cached(version, List.copyOf(search.get()));
+            entries.put(key, cached);
+        }
+        return new ArrayList<>(cached.results);
+    }
+
+    /**
+     * Gets the share of lookups served from the cache.
+     *
+     * @return the hit rate, or 0 before any lookup
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Drops every cached result. The counters keep running.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Builds the key of a search from the filters the type actually uses, in the
+     * case-normalized form they are matched in.
+     */
+    private static List<Object> key(final Filters filters, final String type,
+                                    final String user) {
+        String name = filters.getName() == null ? null : filters.getName().toLowerCase();
+        switch (type) {
+            case "song":
+                TreeSet<String> tags = null;
+                if (filters.getTags() != null) {
+                    tags = new TreeSet<>();
+                    for (String tag : filters.getTags()) {
+                        tags.add(tag.toLowerCase());
+                    }
+                }
+                return Arrays.asList(type, name, fold(filters.getAlbum()), tags,
+                        filters.getLyrics() == null ? null : filters.getLyrics().toLowerCase(),
+                        fold(filters.getGenre()), filters.getReleaseYear(),
+                        fold(filters.getArtist()));
+            case "playlist":
+                return Arrays.asList(type, name, user, filters.getOwner(),
+                        filters.getFollowers());
+            case "album":
+                return Arrays.asList(type, name, filters.getOwner(), filters.getDescription());
+            default:
+                return Arrays.asList(type, name, filters.getOwner());
+        }
+    }
+
+    private static String fold(final String value) {
+        return value == null ? null : TextUtils.foldCase(value);
+    }
+
+    private static final class Cached {
+        private final long version;
+        private final List<LibraryEntry> results;
+
+        Cached(final long version, final List<LibraryEntry> results) {
+            this.version = version;
+            this.results = results;
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.utils.TextUtils;
+import fileio.input.IndexInput;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Bitmap index over the song catalog, keyed by song id. Searches are planned
+ * from the posting counts: the most selective filter drives the scan and the
+ * others are checked per candidate in a single pass.
+ * <p>
+ * A frozen index can be forked. The fork reads through to it and only holds
+ * what its run changed: the posting lists it wrote to, the songs it added and
+ * its own copies of the frozen songs, made the first time each one is handed out.
+ */
+public final class SongIndex {
+    private static final int CHUNK_SIZE = 4096;
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 65536;
+    /** Catalog size from which scans run on the fork/join pool, read once at start. */
+    private static final int PARALLEL_THRESHOLD = Integer.getInteger(
+            "search.parallelThreshold", DEFAULT_PARALLEL_THRESHOLD);
+    private SongIndex base;
+    private final UnaryOperator<Song> copier;
+    private final Map<Integer, Song> copies;
+    private int first;
+    private final List<Song> songs;
+    private final List<String> lowerNames;
+    private PostingList live;
+    private final PostingMap<String> names;
+    private final PostingMap<String> albums;
+    private final PostingMap<String> tags;
+    private final PostingMap<String> genres;
+    private final PostingMap<String> artists;
+    private final PostingMap<Integer> years;
+    private final LyricsIndex lyrics;
+    private boolean frozen;
+
+    /**
+     * Instantiates a new, empty Song index.
+     */
+    public SongIndex() {
+        copier = null;
+        copies = new HashMap<>();
+        songs = new ArrayList<>();
+        lowerNames = new ArrayList<>();
+        live = new PostingList();
+        names = new PostingMap<>(TreeMap::new);
+        albums = new PostingMap<>(HashMap::new);
+        tags = new PostingMap<>(HashMap::new);
+        genres = new PostingMap<>(HashMap::new);
+        artists = new PostingMap<>(HashMap::new);
+        years = new PostingMap<>(TreeMap::new);
+        lyrics = new LyricsIndex();
+    }
+
+    private SongIndex(final SongIndex frozenBase, final UnaryOperator<Song> copier) {
+        base = frozenBase;
+        this.copier = copier;
+        copies = new HashMap<>();
+        first = frozenBase.first + frozenBase.songs.size();
+        songs = new ArrayList<>();
+        lowerNames = new ArrayList<>();
+        live = frozenBase.live;
+        names = frozenBase.names.fork();
+        albums = frozenBase.albums.fork();
+        tags = frozenBase.tags.fork();
+        genres = frozenBase.genres.fork();
+        artists = frozenBase.artists.fork();
+        years = frozenBase.years.fork();
+        lyrics = frozenBase.lyrics.fork();
+    }
+
+    /**
+     * Builds an index over a catalog from postings exported with it, instead of
+     * indexing every song again. Song i of the catalog must have id i.
+     *
+     * @param catalog the songs
+     * @param index   the postings, which the index takes over
+     * @return the index
+     * @throws IllegalArgumentException if the postings do not fit the songs
+     */
+    public static SongIndex restore(final List<Song> catalog, final IndexInput index) {
+        SongIndex restored = new SongIndex();
+        for (int id = 0; id < catalog.size(); id++) {
+            if (catalog.get(id).getId() != id) {
+                throw new IllegalArgumentException("Song " + id + " is out of catalog order");
+            }
+        }
+        restored.songs.addAll(catalog);
+        restored.lowerNames.addAll(Collections.nCopies(catalog.size(), null));
+        for (Map.Entry<String, int[]> entry : index.getNames().entrySet()) {
+            for (int id : entry.getValue()) {
+                restored.lowerNames.set(id, entry.getKey());
+            }
+        }
+        if (restored.lowerNames.contains(null)) {
+            throw new IllegalArgumentException("The postings do not name every song");
+        }
+
+        restored.live = new PostingList(IntStream.range(0, catalog.size()).toArray());
+        restored.names.load(index.getNames());
+        restored.albums.load(index.getAlbums());
+        restored.tags.load(index.getTags());
+        restored.genres.load(index.getGenres());
+        restored.artists.load(index.getArtists());
+        restored.years.load(index.getYears());
+        restored.lyrics.load(index.getLyrics());
+        return restored;
+    }
+
+    /**
+     * Gets every posting, to be stored with the library so that it need not be
+     * indexed again. The ids are shared with this index, which must not be a fork.
+     *
+     * @return the postings
+     */
+    public IndexInput export() {
+        if (base != null) {
+            throw new IllegalStateException("A fork cannot be exported");
+        }
+        IndexInput index = new IndexInput();
+        index.setNames(names.export());
+        index.setAlbums(albums.export());
+        index.setTags(tags.export());
+        index.setGenres(genres.export());
+        index.setArtists(artists.export());
+        index.setYears(years.export());
+        index.setLyrics(lyrics.export());
+        return index;
+    }
+
+    /**
+     * Freezes the index so that it can be shared: it cannot be changed anymore,
+     * and forks copy a posting list only once they write to it.
+     */
+    public void freeze() {
+        if (base != null) {
+            throw new IllegalStateException("A fork cannot be frozen");
+        }
+        frozen = true;
+        live.freeze();
+        for (PostingMap<?> postings : List.of(names, albums, tags, genres, artists, years)) {
+            postings.freeze();
+        }
+        lyrics.freeze();
+    }
+
+    /**
+     * Starts a changeable index from a frozen one. Nothing is copied up front:
+     * the fork copies a posting list when it first writes to it, and a song when
+     * it first hands it out.
+     *
+     * @param copier makes the fork's own copy of a frozen song
+     * @return the fork
+     */
+    public SongIndex fork(final UnaryOperator<Song> copier) {
+        if (!frozen) {
+            throw new IllegalStateException("Only a frozen index can be forked");
+        }
+        return new SongIndex(this, copier);
+    }
+
+    /**
+     * Adds a song.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        checkNotFrozen();
+        int id = song.getId();
+        if (id < first) {
+            throw new IllegalArgumentException("Song id " + id + " belongs to the base index");
+        }
+        while (songs.size() <= id - first) {
+            songs.add(null);
+            lowerNames.add(null);
+        }
+        String name = song.getName().toLowerCase();
+        songs.set(id - first, song);
+        lowerNames.set(id - first, name);
+        writableLive().add(id);
+
+        names.post(name, id);
+        albums.post(fold(song.getAlbum()), id);
+        genres.post(fold(song.getGenre()), id);
+        artists.post(fold(song.getArtist()), id);
+        years.post(song.getReleaseYear(), id);
+        if (song.getTags() != null) {
+            for (String tag : song.getTags()) {
+                tags.post(fold(tag), id);
+            }
+        }
+        lyrics.add(id, song.getLyrics());
+    }
+
+    /**
+     * Removes a song.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        checkNotFrozen();
+        int id = song.getId();
+        if (!live.contains(id)) {
+            return;
+        }
+
+        names.unpost(lowerName(id), id);
+        albums.unpost(fold(song.getAlbum()), id);
+        genres.unpost(fold(song.getGenre()), id);
+        artists.unpost(fold(song.getArtist()), id);
+        years.unpost(song.getReleaseYear(), id);
+        if (song.getTags() != null) {
+            for (String tag : song.getTags()) {
+                tags.unpost(fold(tag), id);
+            }
+        }
+        lyrics.remove(id, song.getLyrics());
+
+        if (id < first) {
+            copies.remove(id);
+        } else {
+            songs.set(id - first, null);
+            lowerNames.set(id - first, null);
+        }
+        writableLive().remove(id);
+    }
+
+    /**
+     * Clears the index, including what a fork read from its base.
+     */
+    public void clear() {
+        checkNotFrozen();
+        base = null;
+        first = 0;
+        copies.clear();
+        songs.clear();
+        lowerNames.clear();
+        live = new PostingList();
+        for (PostingMap<?> postings : List.of(names, albums, tags, genres, artists, years)) {
+            postings.clear();
+        }
+        lyrics.clear();
+    }
+
+    /**
+     * Gets every song, in catalog order.
+     *
+     * @return the songs
+     */
+    public List<Song> getSongs() {
+        return first(live.getSize(), song -> true);
+    }
+
+    /**
+     * Gets the first songs in catalog order that pass a test.
+     *
+     * @param limit the maximum number of songs
+     * @param test  the test
+     * @return the songs
+     */
+    public List<Song> first(final int limit, final Predicate<Song> test) {
+        List<Song> result = new ArrayList<>();
+        BitSet ids = live.getIds();
+        for (int id = ids.nextSetBit(0); id >= 0 && result.size() < limit;
+                id = ids.nextSetBit(id + 1)) {
+            Song song = song(id);
+            if (test.test(song)) {
+                result.add(song);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the songs of an artist, matched ignoring case.
+     *
+     * @param artist the artist
+     * @return the songs, in catalog order
+     */
+    public List<Song> withArtist(final String artist) {
+        List<Song> result = new ArrayList<>();
+        PostingList posting = artists.get(fold(artist));
+        if (posting != null) {
+            BitSet ids = posting.getIds();
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                result.add(song(id));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Searches the songs matching all the given filters, in catalog order,
+     * feeding them to the collector until it is full. The planning steps are
+     * recorded in the given plan, which the caller reports.
+     *
+     * @param filters   the filters
+     * @param collector the collector
+     * @param plan      the plan of the search
+     */
+    public void search(final Filters filters, final ResultCollector<? super Song> collector,
+                       final QueryPlan plan) {
+        List<Stage> stages;
+        try {
+            stages = plan(filters);
+        } catch (NumberFormatException e) {
+            // A malformed year only fails once something is left to compare it with.
+            searchInFilterOrder(filters, collector);
+            return;
+        }
+        stages.sort(Comparator.comparingInt(stage -> stage.estimate));
+        for (Stage stage : stages) {
+            plan.step(stage.label, stage.estimate);
+        }
+        plan.lap("plan");
+
+        if (!stages.isEmpty() && stages.get(0).estimate == 0) {
+            return;
+        }
+
+        BitSet candidates = live.getIds();
+        List<IntPredicate> checks = new ArrayList<>(stages.size());
+        if (!stages.isEmpty()) {
+            Stage driver = stages.get(0);
+            candidates = driver.candidates.get();
+            for (Stage stage : stages.subList(1, stages.size())) {
+                checks.add(stage.test);
+            }
+            if (!driver.exact) {
+                checks.add(driver.test);
+            }
+        }
+        plan.lap("drive");
+
+        if (!checks.isEmpty() && live.getSize() >= PARALLEL_THRESHOLD
+                && candidates.length() > CHUNK_SIZE) {
+            scanInParallel(candidates, checks, collector);
+            plan.lap("parallel scan");
+        } else {
+            scan(candidates, 0, candidates.length(), checks, id -> collector.offer(song(id)));
+            plan.lap("scan");
+        }
+    }
+
+    /**
+     * Scans an id range, handing every match to the sink until it wants no more.
+     */
+    private static void scan(final BitSet candidates, final int from, final int to,
+                             final List<IntPredicate> checks, final IntPredicate sink) {
+        for (int id = candidates.nextSetBit(from); id >= 0 && id < to;
+                id = candidates.nextSetBit(id + 1)) {
+            if (matchesAll(checks, id) && !sink.test(id)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Scans fixed-size id ranges in parallel, each one collecting at most as many
+     * matches as the whole search needs, then merges them in id order. Only a
+     * window of chunks, one per pool thread, runs ahead of the merge, so no new
+     * chunk is started once the collector is full. Chunks only collect ids; the
+     * songs are looked up while merging, on the calling thread.
+     */
+    private void scanInParallel(final BitSet candidates, final List<IntPredicate> checks,
+                                final ResultCollector<? super Song> collector) {
+        int window = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        Deque<ForkJoinTask<List<Integer>>> chunks = new ArrayDeque<>(window);
+        int next = 0;
+        while (!collector.isFull() && (next < candidates.length() || !chunks.isEmpty())) {
+            while (chunks.size() < window && next < candidates.length()) {
+                int start = next;
+                chunks.add(ForkJoinPool.commonPool().submit(() -> {
+                    ResultCollector<Integer> chunk = new ResultCollector<>(collector.getLimit());
+                    scan(candidates, start, start + CHUNK_SIZE, checks, chunk::offer);
+                    return chunk.getResults();
+                }));
+                next += CHUNK_SIZE;
+            }
+
+            for (int id : chunks.poll().join()) {
+                if (!collector.offer(song(id))) {
+                    break;
+                }
+            }
+        }
+
+        for (ForkJoinTask<List<Integer>> chunk : chunks) {
+            chunk.cancel(false);
+        }
+    }
+
+    private List<Stage> plan(final Filters filters) {
+        List<Stage> stages = new ArrayList<>();
+
+        if (filters.getName() != null) {
+            String prefix = filters.getName().toLowerCase();
+            Map<String, PostingList> range = withPrefix(prefix);
+            stages.add(new Stage("name", size(range), () -> union(range), true,
+                    id -> lowerName(id).startsWith(prefix)));
+        }
+
+        if (filters.getAlbum() != null) {
+            stages.add(exact("album", albums.get(fold(filters.getAlbum()))));
+        }
+
+        if (filters.getTags() != null) {
+            for (String tag : filters.getTags()) {
+                stages.add(exact("tag", tags.get(fold(tag))));
+            }
+        }
+
+        if (filters.getLyrics() != null) {
+            String normalized = filters.getLyrics().toLowerCase();
+            IntPredicate test = id -> lyricsContain(id, normalized);
+            if (lyrics.covers(normalized)) {
+                stages.add(new Stage("lyrics", lyrics.estimate(normalized),
+                        () -> lyrics.candidates(normalized), false, test));
+            } else {
+                stages.add(new Stage("lyrics", live.getSize(), live::getIds, false, test));
+            }
+        }
+
+        if (filters.getGenre() != null) {
+            stages.add(exact("genre", genres.get(fold(filters.getGenre()))));
+        }
+
+        if (filters.getReleaseYear() != null) {
+            Map<Integer, PostingList> range = releasedIn(filters.getReleaseYear());
+            stages.add(new Stage("year", size(range), () -> union(range), true,
+                    id -> releasedIn(range, metadata(id).getReleaseYear())));
+        }
+
+        if (filters.getArtist() != null) {
+            stages.add(exact("artist", artists.get(fold(filters.getArtist()))));
+        }
+
+        return stages;
+    }
+
+    /**
+     * Applies the filters one after another in their declaration order. Used
+     * when the query cannot be planned, so that it fails exactly where it used to.
+     */
+    private void searchInFilterOrder(final Filters filters,
+                                     final ResultCollector<? super Song> collector) {
+        BitSet ids = (BitSet) live.getIds().clone();
+
+        if (filters.getName() != null) {
+            ids.and(union(withPrefix(filters.getName().toLowerCase())));
+        }
+
+        if (filters.getAlbum() != null) {
+            ids.and(posting(albums, fold(filters.getAlbum())));
+        }
+
+        if (filters.getTags() != null) {
+            for (String tag : filters.getTags()) {
+                ids.and(posting(tags, fold(tag)));
+            }
+        }
+
+        if (filters.getLyrics() != null) {
+            String normalized = filters.getLyrics().toLowerCase();
+            if (lyrics.covers(normalized)) {
+                ids.and(lyrics.candidates(normalized));
+            }
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                if (!lyricsContain(id, normalized)) {
+                    ids.clear(id);
+                }
+            }
+        }
+
+        if (filters.getGenre() != null) {
+            ids.and(posting(genres, fold(filters.getGenre())));
+        }
+
+        if (filters.getReleaseYear() != null && !ids.isEmpty()) {
+            ids.and(union(releasedIn(filters.getReleaseYear())));
+        }
+
+        if (filters.getArtist() != null) {
+            ids.and(posting(artists, fold(filters.getArtist())));
+        }
+
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            if (!collector.offer(song(id))) {
+                break;
+            }
+        }
+    }
+
+    private static boolean matchesAll(final List<IntPredicate> checks, final int id) {
+        for (IntPredicate check : checks) {
+            if (!check.test(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<String, PostingList> withPrefix(final String prefix) {
+        return names.range(postings -> postings.tailMap(prefix, true),
+                key -> key.startsWith(prefix));
+    }
+
+    private Map<Integer, PostingList> releasedIn(final String query) {
+        if (query.startsWith("<")) {
+            int year = Integer.parseInt(query.substring(1));
+            return years.range(postings -> postings.headMap(year, false), key -> true);
+        } else if (query.startsWith(">")) {
+            int year = Integer.parseInt(query.substring(1));
+            return years.range(postings -> postings.tailMap(year, false), key -> true);
+        }
+        int year = Integer.parseInt(query);
+        return years.range(postings -> postings.subMap(year, true, year, true), key -> true);
+    }
+
+    private static boolean releasedIn(final Map<Integer, PostingList> range,
+                                      final Integer year) {
+        return year != null && range.containsKey(year);
+    }
+
+    private static Stage exact(final String label, final PostingList posting) {
+        if (posting == null) {
+            return new Stage(label, 0, BitSet::new, true, id -> false);
+        }
+        return new Stage(label, posting.getSize(), posting::getIds, true, posting::contains);
+    }
+
+    private static int size(final Map<?, PostingList> range) {
+        int size = 0;
+        for (PostingList posting : range.values()) {
+            size += posting.getSize();
+        }
+        return size;
+    }
+
+    private static BitSet union(final Map<?, PostingList> range) {
+        BitSet result = new BitSet();
+        for (PostingList posting : range.values()) {
+            posting.addTo(result);
+        }
+        return result;
+    }
+
+    private static <K> BitSet posting(final PostingMap<K> postings, final K key) {
+        PostingList posting = postings.get(key);
+        return posting == null ? new BitSet() : posting.getIds();
+    }
+
+    /**
+     * Gets the song handed out for an id, copying it from the base index the
+     * first time.
+     */
+    private Song song(final int id) {
+        if (id >= first) {
+            return songs.get(id - first);
+        }
+        return copies.computeIfAbsent(id, key -> copier.apply(base.song(key)));
+    }
+
+    /**
+     * Gets a song only to read its metadata, which copies share with the base.
+     */
+    private Song metadata(final int id) {
+        return id >= first ? songs.get(id - first) : base.metadata(id);
+    }
+
+    /**
+     * Checks the lyrics of a song against an already lowercased filter, reading
+     * them from the song rather than from a copy kept by the index.
+     */
+    private boolean lyricsContain(final int id, final String normalized) {
+        String songLyrics = metadata(id).getLyrics();
+        return songLyrics != null && songLyrics.toLowerCase().contains(normalized);
+    }
+
+    private String lowerName(final int id) {
+        return id >= first ? lowerNames.get(id - first) : base.lowerName(id);
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("A frozen index cannot be changed");
+        }
+    }
+
+    private PostingList writableLive() {
+        if (live.isFrozen()) {
+            live = live.copy();
+        }
+        return live;
+    }
+
+    private static String fold(final String value) {
+        return value == null ? null : TextUtils.foldCase(value);
+    }
+
+    /**
+     * One filter of a planned search: how many songs it is expected to keep,
+     * which ids it may keep and the per-id check. An exact stage keeps only
+     * matching ids, so it needs no check once it drives the scan.
+     */
+    private static final class Stage {
+        private final String label;
+        private final int estimate;
+        private final Supplier<BitSet> candidates;
+        private final boolean exact;
+        private final IntPredicate test;
+
+        Stage(final String label, final int estimate, final Supplier<BitSet> candidates,
+              final boolean exact, final IntPredicate test) {
+            this.label = label;
+            this.estimate = estimate;
+            this.candidates = candidates;
+            this.exact = exact;
+            this.test = test;
+        }
+    }
+}
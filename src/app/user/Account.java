@@ -0,0 +1,37 @@
+package app.user;
+
+import app.utils.Enums;
+import lombok.Getter;
+
+/**
+ * An entry of the username registry, pairing an account with its type.
+ */
+@Getter
+public final class Account {
+    private final GenericUser user;
+    private final Enums.AccountType type;
+    private final int ordinal;
+
+    /**
+     * Instantiates a new Account.
+     *
+     * @param user    the registered user
+     * @param type    the account type
+     * @param ordinal the registration order of the account
+     */
+    public Account(final GenericUser user, final Enums.AccountType type, final int ordinal) {
+        this.user = user;
+        this.type = type;
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * Checks the account type.
+     *
+     * @param accountType the expected type
+     * @return the boolean
+     */
+    public boolean is(final Enums.AccountType accountType) {
+        return type == accountType;
+    }
+}
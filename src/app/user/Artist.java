@@ -2,14 +2,11 @@ package app.user;
 
 import app.Admin;
 import app.audio.Collections.Album;
-import app.audio.Collections.Playlist;
 import app.audio.Files.Song;
 import app.utils.Constants;
-import app.utils.Enums;
 import lombok.Getter;
 
 import java.util.ArrayList;
-import java.util.List;
 
 public final class Artist extends GenericUser {
     @Getter
@@ -19,8 +16,9 @@ public final class Artist extends GenericUser {
     @Getter
     private final ArrayList<Merch> merchandise;
 
-    public Artist(final String username, final int age, final String city) {
-        super(username, age, city);
+    public Artist(final Admin admin, final String username, final int age,
+                 final String city) {
+        super(admin, username, age, city);
         albums = new ArrayList<>();
         events = new ArrayList<>();
         merchandise = new ArrayList<>();
@@ -45,13 +43,10 @@ public final class Artist extends GenericUser {
             return "%s has the same song at least twice in this album.".formatted(getUsername());
         }
 
-        Album album = new Album(inputAlbum.getName(), getUsername(),
-                inputAlbum.getDescription(), inputAlbum.getReleaseYear());
-        album.getSongs().addAll(inputAlbum.getSongs());
-
-        albums.add(album);
+        albums.add(inputAlbum);
+        getAdmin().addAlbum(inputAlbum);
         for (Song song : inputAlbum.getSongs()) {
-            Admin.getInstance().addSongs(song);
+            getAdmin().addSongs(song);
         }
         return "%s has added new album successfully.".formatted(getUsername());
     }
@@ -136,46 +131,18 @@ public final class Artist extends GenericUser {
             return "%s doesn't have an album with the given name.".formatted(getUsername());
         }
 
-        //Get the users that are playing sth.
-        List<User> playingUsers = new ArrayList<>();
-        for (User allUsers : Admin.getInstance().getUsers()) {
-            if (allUsers.getPlayer().getSource() != null) {
-                playingUsers.add(allUsers);
-            }
+        //Check if someone plays the album, a song from it or a playlist holding one.
+        if (getAdmin().getListeners().isPlayingAlbum(title)) {
+            return "%s can't delete this album.".formatted(getUsername());
         }
 
-        for (User auxiliaryUser : playingUsers) {
-            //Check if user plays an album and that album name is equal to album to delete.
-            if (auxiliaryUser.getPlayer().getSource().getType()
-                    .equals(Enums.PlayerSourceType.ALBUM)) {
-                if (auxiliaryUser.getPlayer().getSource()
-                        .getAudioCollection().getName().equals(title)) {
-                    return "%s can't delete this album.".formatted(getUsername());
-                }
-            }
-
-            //Check if user plays a playlist that has a song from album.
-            if (auxiliaryUser.getPlayer().getSource().getType()
-                    .equals(Enums.PlayerSourceType.PLAYLIST)) {
-                for (Song song : ((Playlist) auxiliaryUser.getPlayer().getSource()
-                        .getAudioCollection()).getSongs()) {
-                    if (song.getAlbum().equals(title)) {
-                        return "%s can't delete this album.".formatted(getUsername());
-                    }
-                }
+        albums.removeIf(album -> {
+            if (album.getName().equals(title)) {
+                getAdmin().removeAlbum(album);
+                return true;
             }
-
-            //check if user plays a song from the album.
-            if (auxiliaryUser.getPlayer().getSource().getType()
-                    .equals(Enums.PlayerSourceType.LIBRARY)) {
-                if (((Song) auxiliaryUser.getPlayer().getSource().getAudioFile()).getAlbum()
-                        .equals(title)) {
-                    return "%s can't delete this album.".formatted(getUsername());
-                }
-            }
-        }
-
-        albums.removeIf(album -> album.getName().equals(title));
+            return false;
+        });
         return "%s deleted the album successfully.".formatted(getUsername());
     }
 
@@ -1,8 +1,12 @@
 package app.user;
 
+import app.Admin;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 public abstract class GenericUser {
+    @Getter(AccessLevel.PROTECTED)
+    private final Admin admin;
     @Getter
     private final String username;
     @Getter
@@ -10,7 +14,9 @@ public abstract class GenericUser {
     @Getter
     private final String city;
 
-    public GenericUser(final String username, final int age, final String city) {
+    public GenericUser(final Admin admin, final String username, final int age,
+                       final String city) {
+        this.admin = admin;
         this.username = username;
         this.age = age;
         this.city = city;
@@ -4,11 +4,9 @@ import app.Admin;
 import app.audio.Collections.Podcast;
 import app.audio.Collections.PodcastOutput;
 import app.audio.Files.Episode;
-import app.utils.Enums;
 import lombok.Getter;
 
 import java.util.ArrayList;
-import java.util.List;
 
 public class Host extends GenericUser {
     @Getter
@@ -16,8 +14,9 @@ public class Host extends GenericUser {
     @Getter
     private ArrayList<Announcement> announcements;
 
-    public Host(final String username, final int age, final String city) {
-        super(username, age, city);
+    public Host(final Admin admin, final String username, final int age,
+               final String city) {
+        super(admin, username, age, city);
         podcasts = new ArrayList<>();
         announcements = new ArrayList<>();
     }
@@ -46,7 +45,7 @@ public class Host extends GenericUser {
                 inputPodcast.getEpisodes());
 
         podcasts.add(podcast);
-        Admin.getInstance().addPodcast(podcast);
+        getAdmin().addPodcast(podcast);
         return "%s has added new podcast successfully.".formatted(getUsername());
     }
 
@@ -108,23 +107,9 @@ public class Host extends GenericUser {
             return "%s doesn't have a podcast with the given name.".formatted(getUsername());
         }
 
-        //Get the users that are playing sth.
-        List<User> playingUsers = new ArrayList<>();
-        for (User allUsers : Admin.getInstance().getUsers()) {
-            if (allUsers.getPlayer().getSource() != null) {
-                playingUsers.add(allUsers);
-            }
-        }
-
         //Check if someone is listening to that podcast.
-        for (User auxiliaryUser : playingUsers) {
-            if (auxiliaryUser.getPlayer().getSource().getType()
-                    .equals(Enums.PlayerSourceType.PODCAST)) {
-                if (auxiliaryUser.getPlayer().getSource()
-                        .getAudioCollection().getName().equals(title)) {
-                    return "%s can't delete this podcast.".formatted(getUsername());
-                }
-            }
+        if (getAdmin().getListeners().isPlayingPodcast(title)) {
+            return "%s can't delete this podcast.".formatted(getUsername());
         }
 
         podcasts.removeIf(podcast -> podcast.getName().equals(title));
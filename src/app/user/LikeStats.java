@@ -0,0 +1,126 @@
+package app.user;
+
+import app.audio.Files.Song;
+import app.utils.Leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Statistics over the liked songs of one user. Genre counters are updated on
+ * every like and unlike; the top liked songs are recomputed only when a like
+ * anywhere in the library changed since the last read.
+ */
+final class LikeStats {
+    private final Map<String, Genre> genres = new HashMap<>();
+    private final Map<Song, Long> likedAt = new IdentityHashMap<>();
+    private final Leaderboard<Genre> ranking = new Leaderboard<>(
+            Comparator.comparingLong((Genre genre) -> genre.likes.last()));
+    private long nextLike;
+    private final int limit;
+    private List<String> topSongs = List.of();
+    private long topVersion = -1;
+
+    /**
+     * Instantiates a new LikeStats.
+     *
+     * @param limit the number of top songs kept
+     */
+    LikeStats(final int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Counts a liked song.
+     *
+     * @param song the song
+     */
+    void liked(final Song song) {
+        long sequence = nextLike++;
+        likedAt.put(song, sequence);
+        Genre genre = genres.computeIfAbsent(song.getGenre(), Genre::new);
+        ranking.remove(genre);
+        genre.likes.add(sequence);
+        ranking.add(genre, genre.likes.size());
+        topVersion = -1;
+    }
+
+    /**
+     * Stops counting a song that is no longer liked.
+     *
+     * @param song the song
+     */
+    void unliked(final Song song) {
+        Long sequence = likedAt.remove(song);
+        if (sequence == null) {
+            return;
+        }
+
+        Genre genre = genres.get(song.getGenre());
+        ranking.remove(genre);
+        genre.likes.remove(sequence);
+        if (genre.likes.isEmpty()) {
+            genres.remove(genre.name);
+        } else {
+            ranking.add(genre, genre.likes.size());
+        }
+        topVersion = -1;
+    }
+
+    /**
+     * Gets the genre with the most liked songs. On a tie, the genre that got
+     * there first wins.
+     *
+     * @return the genre, or "unknown" if no song is liked
+     */
+    String preferredGenre() {
+        List<Genre> top = ranking.top(1);
+        return top.isEmpty() ? "unknown" : top.get(0).name;
+    }
+
+    /**
+     * Gets the names of the liked songs with the most likes, ties kept in the
+     * order they were liked.
+     *
+     * @param likedSongs the liked songs, in the order they were liked
+     * @param version    the current like version of the library
+     * @return the song names
+     */
+    List<String> topSongs(final List<Song> likedSongs, final long version) {
+        if (version == topVersion) {
+            return topSongs;
+        }
+
+        List<Song> best = new ArrayList<>(limit + 1);
+        for (Song song : likedSongs) {
+            int position = best.size();
+            while (position > 0 && best.get(position - 1).getLikes() < song.getLikes()) {
+                position--;
+            }
+            if (position < limit) {
+                best.add(position, song);
+                if (best.size() > limit) {
+                    best.remove(limit);
+                }
+            }
+        }
+
+        topSongs = best.stream().map(Song::getName).toList();
+        topVersion = version;
+        return topSongs;
+    }
+
+    private static final class Genre {
+        private final String name;
+        private final TreeSet<Long> likes = new TreeSet<>();
+
+        Genre(final String name) {
+            this.name = name;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import app.player.PlayerStats;
 import app.searchBar.Filters;
 import app.searchBar.SearchBar;
 import app.utils.Enums;
+import app.utils.IndexedSet;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -25,10 +26,9 @@ public final class User extends GenericUser {
     @Getter
     private ArrayList<Playlist> playlists;
     @Getter
-    private ArrayList<Song> likedSongs;
-    @Getter
-    private ArrayList<Playlist> followedPlaylists;
+    private IndexedSet<Song> likedSongs;
     @Getter
+    private IndexedSet<Playlist> followedPlaylists;
     private final Player player;
     @Getter
     private final SearchBar searchBar;
@@ -40,21 +40,24 @@ public final class User extends GenericUser {
     private static final int LIMIT = 5;
     @Getter
     private String creatorName;
+    private final LikeStats likeStats = new LikeStats(LIMIT);
 
     /**
      * Instantiates a new User.
      *
+     * @param admin    the simulation the user belongs to
      * @param username the username
      * @param age      the age
      * @param city     the city
      */
-    public User(final String username, final int age, final String city) {
-        super(username, age, city);
+    public User(final Admin admin, final String username, final int age,
+               final String city) {
+        super(admin, username, age, city);
         playlists = new ArrayList<>();
-        likedSongs = new ArrayList<>();
-        followedPlaylists = new ArrayList<>();
-        player = new Player();
-        searchBar = new SearchBar(username);
+        likedSongs = new IndexedSet<>();
+        followedPlaylists = new IndexedSet<>();
+        player = new Player(source -> admin.getListeners().sourceChanged(this, source));
+        searchBar = new SearchBar(admin, username);
         lastSearched = false;
         connectionStatus = Enums.ConnectionStatus.ONLINE;
         currentPage = "HomePage";
@@ -72,7 +75,7 @@ public final class User extends GenericUser {
         ArrayList<String> results = new ArrayList<>();
 
         searchBar.clearSelection();
-        player.stop();
+        getPlayer().stop();
 
         lastSearched = true;
         List<LibraryEntry> libraryEntries = searchBar.search(filters, type);
@@ -114,7 +117,7 @@ public final class User extends GenericUser {
      */
     public ArrayList<String> searchCreator(final Filters filters, final String type) {
         searchBar.clearSelection();
-        player.stop();
+        getPlayer().stop();
 
         lastSearched = true;
 
@@ -160,10 +163,10 @@ public final class User extends GenericUser {
             return "You can't load an empty audio collection!";
         }
 
-        player.setSource(searchBar.getLastSelected(), searchBar.getLastSearchType());
+        getPlayer().setSource(searchBar.getLastSelected(), searchBar.getLastSearchType());
         searchBar.clearSelection();
 
-        player.pause();
+        getPlayer().pause();
 
         return "Playback loaded successfully.";
     }
@@ -174,13 +177,13 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String playPause() {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before attempting to pause or resume playback.";
         }
 
-        player.pause();
+        getPlayer().pause();
 
-        if (player.getPaused()) {
+        if (getPlayer().getPaused()) {
             return "Playback paused successfully.";
         } else {
             return "Playback resumed successfully.";
@@ -193,11 +196,11 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String repeat() {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before setting the repeat status.";
         }
 
-        Enums.RepeatMode repeatMode = player.repeat();
+        Enums.RepeatMode repeatMode = getPlayer().repeat();
         String repeatStatus = "";
 
         switch (repeatMode) {
@@ -231,17 +234,17 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String shuffle(final Integer seed) {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before using the shuffle function.";
         }
 
-        if (!player.getType().equals("playlist") && !player.getType().equals("album")) {
+        if (!getPlayer().getType().equals("playlist") && !getPlayer().getType().equals("album")) {
             return "The loaded source is not a playlist or an album.";
         }
 
-        player.shuffle(seed);
+        getPlayer().shuffle(seed);
 
-        if (player.getShuffle()) {
+        if (getPlayer().getShuffle()) {
             return "Shuffle function activated successfully.";
         }
         return "Shuffle function deactivated successfully.";
@@ -253,15 +256,15 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String forward() {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before attempting to forward.";
         }
 
-        if (!player.getType().equals("podcast")) {
+        if (!getPlayer().getType().equals("podcast")) {
             return "The loaded source is not a podcast.";
         }
 
-        player.skipNext();
+        getPlayer().skipNext();
 
         return "Skipped forward successfully.";
     }
@@ -272,15 +275,15 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String backward() {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please select a source before rewinding.";
         }
 
-        if (!player.getType().equals("podcast")) {
+        if (!getPlayer().getType().equals("podcast")) {
             return "The loaded source is not a podcast.";
         }
 
-        player.skipPrev();
+        getPlayer().skipPrev();
 
         return "Rewound successfully.";
     }
@@ -291,26 +294,32 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String like() {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before liking or unliking.";
         }
 
-        if (!player.getType().equals("song") && !player.getType().equals("playlist")
-                && !player.getType().equals("album")) {
+        if (!getPlayer().getType().equals("song") && !getPlayer().getType().equals("playlist")
+                && !getPlayer().getType().equals("album")) {
             return "Loaded source is not a song.";
         }
 
-        Song song = (Song) player.getCurrentAudioFile();
+        Song song = (Song) getPlayer().getCurrentAudioFile();
 
         if (likedSongs.contains(song)) {
             likedSongs.remove(song);
+            likeStats.unliked(song);
             song.dislike();
+            getAdmin().getLeaderboards().songLiked(song);
+            getAdmin().getReferences().unliked(song, this);
 
             return "Unlike registered successfully.";
         }
 
         likedSongs.add(song);
+        likeStats.liked(song);
         song.like();
+        getAdmin().getLeaderboards().songLiked(song);
+        getAdmin().getReferences().liked(song, this);
         return "Like registered successfully.";
     }
 
@@ -320,18 +329,18 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String next() {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before skipping to the next track.";
         }
 
-        player.next();
+        getPlayer().next();
 
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before skipping to the next track.";
         }
 
         return "Skipped to next track successfully. The current track is %s."
-                .formatted(player.getCurrentAudioFile().getName());
+                .formatted(getPlayer().getCurrentAudioFile().getName());
     }
 
     /**
@@ -340,14 +349,14 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String prev() {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before returning to the previous track.";
         }
 
-        player.prev();
+        getPlayer().prev();
 
         return "Returned to previous track successfully. The current track is %s."
-                .formatted(player.getCurrentAudioFile().getName());
+                .formatted(getPlayer().getCurrentAudioFile().getName());
     }
 
     /**
@@ -362,7 +371,9 @@ public final class User extends GenericUser {
             return "A playlist with the same name already exists.";
         }
 
-        playlists.add(new Playlist(name, getUsername(), timestamp));
+        Playlist playlist = new Playlist(name, getUsername(), timestamp);
+        playlists.add(playlist);
+        getAdmin().addPlaylist(playlist);
 
         return "Playlist created successfully.";
     }
@@ -374,11 +385,11 @@ public final class User extends GenericUser {
      * @return the string
      */
     public String addRemoveInPlaylist(final int id) {
-        if (player.getCurrentAudioFile() == null) {
+        if (getPlayer().getCurrentAudioFile() == null) {
             return "Please load a source before adding to or removing from the playlist.";
         }
 
-        if (player.getType().equals("podcast")) {
+        if (getPlayer().getType().equals("podcast")) {
             return "The loaded source is not a song.";
         }
 
@@ -388,12 +399,15 @@ public final class User extends GenericUser {
 
         Playlist playlist = playlists.get(id - 1);
 
-        if (playlist.containsSong((Song) player.getCurrentAudioFile())) {
-            playlist.removeSong((Song) player.getCurrentAudioFile());
+        Song song = (Song) getPlayer().getCurrentAudioFile();
+        if (playlist.containsSong(song)) {
+            playlist.removeSong(song);
+            getAdmin().getReferences().removed(playlist, song);
             return "Successfully removed from playlist.";
         }
 
-        playlist.addSong((Song) player.getCurrentAudioFile());
+        playlist.addSong(song);
+        getAdmin().getReferences().added(playlist, song);
         return "Successfully added to playlist.";
     }
 
@@ -410,6 +424,7 @@ public final class User extends GenericUser {
 
         Playlist playlist = playlists.get(playlistId - 1);
         playlist.switchVisibility();
+        getAdmin().touchCatalog("playlist");
 
         if (playlist.getVisibility() == Enums.Visibility.PUBLIC) {
             return "Visibility status updated successfully to public.";
@@ -458,13 +473,18 @@ public final class User extends GenericUser {
         if (followedPlaylists.contains(playlist)) {
             followedPlaylists.remove(playlist);
             playlist.decreaseFollowers();
+            getAdmin().getLeaderboards().playlistFollowed(playlist, -1);
+            getAdmin().getReferences().unfollowed(playlist, this);
+            getAdmin().touchCatalog("playlist");
 
             return "Playlist unfollowed successfully.";
         }
 
         followedPlaylists.add(playlist);
         playlist.increaseFollowers();
-
+        getAdmin().getLeaderboards().playlistFollowed(playlist, 1);
+        getAdmin().getReferences().followed(playlist, this);
+        getAdmin().touchCatalog("playlist");
 
         return "Playlist followed successfully.";
     }
@@ -475,7 +495,7 @@ public final class User extends GenericUser {
      * @return the player stats
      */
     public PlayerStats getPlayerStats() {
-        return player.getStats();
+        return getPlayer().getStats();
     }
 
     /**
@@ -498,35 +518,41 @@ public final class User extends GenericUser {
      * @return the preferred genre
      */
     public String getPreferredGenre() {
-        String[] genres = {"pop", "rock", "rap"};
-        int[] counts = new int[genres.length];
-        int mostLikedIndex = -1;
-        int mostLikedCount = 0;
-
-        for (Song song : likedSongs) {
-            for (int i = 0; i < genres.length; i++) {
-                if (song.getGenre().equals(genres[i])) {
-                    counts[i]++;
-                    if (counts[i] > mostLikedCount) {
-                        mostLikedCount = counts[i];
-                        mostLikedIndex = i;
-                    }
-                    break;
-                }
-            }
-        }
+        return "This user's preferred genre is %s.".formatted(likeStats.preferredGenre());
+    }
 
-        String preferredGenre = mostLikedIndex != -1 ? genres[mostLikedIndex] : "unknown";
-        return "This user's preferred genre is %s.".formatted(preferredGenre);
+    /**
+     * Drops a song from the liked songs, without changing its likes.
+     *
+     * @param song the song
+     */
+    public void dropLikedSong(final Song song) {
+        likedSongs.remove(song);
+        likeStats.unliked(song);
     }
 
     /**
-     * Simulate time.
+     * Gets the player, first bringing it up to the current timestamp.
      *
-     * @param time the time
+     * @return the player
      */
-    public void simulateTime(final int time) {
-        player.simulatePlayer(time);
+    public Player getPlayer() {
+        getAdmin().settle(this);
+        return player;
+    }
+
+    /**
+     * Brings the player's clock to the given timestamp.
+     *
+     * @param timestamp the current timestamp
+     * @param advancing whether the time since the last settlement was played
+     */
+    public void settle(final int timestamp, final boolean advancing) {
+        if (advancing) {
+            player.catchUp(timestamp);
+        } else {
+            player.holdUntil(timestamp);
+        }
     }
 
     /**
@@ -540,6 +566,7 @@ public final class User extends GenericUser {
         } else {
             connectionStatus = Enums.ConnectionStatus.ONLINE;
         }
+        getAdmin().connectionSwitched(this);
 
         return "%s has changed status successfully.".formatted(getUsername());
     }
@@ -563,31 +590,23 @@ public final class User extends GenericUser {
                     .map(Playlist::getName)
                     .toList();
 
-            List<String> topFiveSongs;
-            topFiveSongs = likedSongs.stream()
-                    .sorted(Comparator.comparing(Song::getLikes).reversed())
-                    .limit(LIMIT)
-                    .map(Song::getName)
-                    .toList();
+            List<String> topFiveSongs = likeStats.topSongs(likedSongs,
+                    getAdmin().getLeaderboards().getLikeVersion());
 
             return "Liked songs:\n\t" + topFiveSongs
                     + "\n\nFollowed playlists:\n\t" + topFivePlaylists;
         }
 
         if (currentPage.equals("creatorPage")) {
-            if (Admin.getInstance().getArtists().stream()
-                    .anyMatch(artist -> artist.getUsername().equals(creatorName))) {
-                Artist artist = Admin.getInstance().getArtist(creatorName);
-
+            Artist artist = getAdmin().getArtist(creatorName);
+            if (artist != null) {
                 return "Albums:\n\t" + artist.getAlbums().toString()
                         + "\n\nMerch:\n\t" + artist.getMerchandise()
                         + "\n\nEvents:\n\t" + artist.getEvents();
             }
 
-            if (Admin.getInstance().getHosts().stream()
-                    .anyMatch(host -> host.getUsername().equals(creatorName))) {
-                Host host = Admin.getInstance().getHost(creatorName);
-
+            Host host = getAdmin().getHost(creatorName);
+            if (host != null) {
                 return "Podcasts:\n\t" + host.getPodcasts().toString()
                         + "\n\nAnnouncements:\n\t" + host.getAnnouncements().toString();
             }
@@ -29,4 +29,7 @@ public final class Constants {
 
     //SEARCH LIMIT BOUND.
     public static final int LIMIT = 5;
+
+    //SEARCH CACHE BOUND.
+    public static final int SEARCH_CACHE_SIZE = 1024;
 }
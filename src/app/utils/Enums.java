@@ -29,4 +29,8 @@ public class Enums { // diferite enumuri, le-am gurpat pe toate intr-un loc
     public enum ConnectionStatus {
         ONLINE, OFFLINE
     }
+
+    public enum AccountType {
+        USER, ARTIST, HOST
+    }
 }
@@ -0,0 +1,348 @@
+package app.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * A list of distinct entries in insertion order, with constant time contains and
+ * remove. Removed entries leave a gap in the backing slots; reads by index skip the
+ * gaps through a Fenwick tree counting the live slots, and the gaps are closed only
+ * once they outnumber the entries, so a burst of removals costs one compaction.
+ * <p>
+ * Entries are told apart by equals and cannot be null. Adding or setting an entry
+ * that is already in the list at another index is refused, as a set would.
+ *
+ * @param <T> the entry type
+ */
+public final class IndexedSet<T> extends AbstractList<T> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ArrayList<T> slots = new ArrayList<>();
+    private final Map<T, Integer> positions = new HashMap<>();
+    private int[] live = new int[INITIAL_CAPACITY + 1];
+    private int gaps;
+
+    /**
+     * Appends an entry, unless it is already in the list.
+     *
+     * @param entry the entry
+     * @return whether the entry was added
+     */
+    @Override
+    public boolean add(final T entry) {
+        Objects.requireNonNull(entry);
+        if (positions.containsKey(entry)) {
+            return false;
+        }
+        positions.put(entry, slots.size());
+        slots.add(entry);
+        appended();
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts an entry at an index, shifting the later ones.
+     *
+     * @param index the index
+     * @param entry the entry
+     * @throws IllegalArgumentException if the entry is already in the list
+     */
+    @Override
+    public void add(final int index, final T entry) {
+        Objects.requireNonNull(entry);
+        Objects.checkIndex(index, size() + 1);
+        if (positions.containsKey(entry)) {
+            throw new IllegalArgumentException("Entry already in the set");
+        }
+        compact();
+        slots.add(index, entry);
+        renumber(index);
+        rebuild();
+        modCount++;
+    }
+
+    /**
+     * Replaces the entry at an index.
+     *
+     * @param index the index
+     * @param entry the new entry
+     * @return the entry replaced
+     * @throws IllegalArgumentException if the new entry is in the list at another index
+     */
+    @Override
+    public T set(final int index, final T entry) {
+        Objects.requireNonNull(entry);
+        int slot = slot(index);
+        T old = slots.get(slot);
+        Integer position = positions.get(entry);
+        if (position != null && position != slot) {
+            throw new IllegalArgumentException("Entry already in the set");
+        }
+        positions.remove(old);
+        positions.put(entry, slot);
+        slots.set(slot, entry);
+        return old;
+    }
+
+    @Override
+    public boolean contains(final Object entry) {
+        return positions.containsKey(entry);
+    }
+
+    @Override
+    public boolean remove(final Object entry) {
+        Integer position = positions.remove(entry);
+        if (position == null) {
+            return false;
+        }
+        clearSlot(position);
+        modCount++;
+        compactIfSparse();
+        return true;
+    }
+
+    @Override
+    public T remove(final int index) {
+        T entry = get(index);
+        remove(entry);
+        return entry;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super T> condition) {
+        boolean removed = false;
+        for (int i = 0; i < slots.size(); i++) {
+            T entry = slots.get(i);
+            if (entry != null && condition.test(entry)) {
+                positions.remove(entry);
+                clearSlot(i);
+                removed = true;
+            }
+        }
+        if (removed) {
+            modCount++;
+            compactIfSparse();
+        }
+        return removed;
+    }
+
+    /**
+     * Sorts the entries in place. Sorting never makes two entries equal, so unlike
+     * the default it does not go through set.
+     *
+     * @param order the order, or null for the natural one
+     */
+    @Override
+    public void sort(final Comparator<? super T> order) {
+        compact();
+        slots.sort(order);
+        renumber(0);
+        modCount++;
+    }
+
+    @Override
+    public T get(final int index) {
+        return slots.get(slot(index));
+    }
+
+    @Override
+    public int indexOf(final Object entry) {
+        Integer position = positions.get(entry);
+        if (position == null) {
+            return -1;
+        }
+        return gaps == 0 ? position : liveBefore(position + 1) - 1;
+    }
+
+    @Override
+    public int lastIndexOf(final Object entry) {
+        return indexOf(entry);
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    @Override
+    public void clear() {
+        slots.clear();
+        positions.clear();
+        live = new int[INITIAL_CAPACITY + 1];
+        gaps = 0;
+        modCount++;
+    }
+
+    /**
+     * Iterates over the slots directly, skipping the gaps.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int next = skipGaps(0);
+            private int last = -1;
+            private int expected = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < slots.size();
+            }
+
+            @Override
+            public T next() {
+                if (expected != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = skipGaps(next + 1);
+                return slots.get(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (expected != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                positions.remove(slots.get(last));
+                clearSlot(last);
+                modCount++;
+                expected = modCount;
+                last = -1;
+            }
+        };
+    }
+
+    private int skipGaps(final int from) {
+        int slot = from;
+        while (slot < slots.size() && slots.get(slot) == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * Finds the slot of the entry at an index: the slot after which exactly that
+     * many live slots come first.
+     */
+    private int slot(final int index) {
+        Objects.checkIndex(index, size());
+        if (gaps == 0) {
+            return index;
+        }
+        int node = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(live.length - 1); step > 0; step >>= 1) {
+            int next = node + step;
+            if (next <= slots.size() && live[next] < remaining) {
+                node = next;
+                remaining -= live[next];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Counts the live slots among the first ones.
+     */
+    private int liveBefore(final int count) {
+        int total = 0;
+        for (int node = count; node > 0; node -= node & -node) {
+            total += live[node];
+        }
+        return total;
+    }
+
+    /**
+     * Counts the slot just appended in the tree, growing the tree if needed. Only
+     * the nodes up to the last slot are kept exact; nodes past it are recounted
+     * from their children when their slot is appended.
+     */
+    private void appended() {
+        int node = slots.size();
+        if (node >= live.length) {
+            live = new int[live.length * 2];
+            rebuild();
+            return;
+        }
+        live[node] = 1 + liveBefore(node - 1) - liveBefore(node - (node & -node));
+    }
+
+    private void clearSlot(final int slot) {
+        slots.set(slot, null);
+        gaps++;
+        for (int node = slot + 1; node < live.length; node += node & -node) {
+            live[node]--;
+        }
+    }
+
+    private void compactIfSparse() {
+        if (gaps > positions.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Closes the gaps left by removed entries.
+     */
+    private void compact() {
+        if (gaps == 0) {
+            return;
+        }
+        int next = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            T entry = slots.get(i);
+            if (entry != null) {
+                slots.set(next, entry);
+                positions.put(entry, next);
+                next++;
+            }
+        }
+        slots.subList(next, slots.size()).clear();
+        gaps = 0;
+        rebuild();
+    }
+
+    private void renumber(final int from) {
+        for (int i = from; i < slots.size(); i++) {
+            positions.put(slots.get(i), i);
+        }
+    }
+
+    /**
+     * Recounts the whole tree in linear time, growing it to fit the slots.
+     */
+    private void rebuild() {
+        int length = live.length;
+        while (length <= slots.size()) {
+            length *= 2;
+        }
+        live = new int[length];
+        for (int node = 1; node < length; node++) {
+            if (node <= slots.size() && slots.get(node - 1) != null) {
+                live[node]++;
+            }
+            int parent = node + (node & -node);
+            if (parent < length) {
+                live[parent] += live[node];
+            }
+        }
+    }
+}
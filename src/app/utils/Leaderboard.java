@@ -0,0 +1,139 @@
+package app.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Entries kept ordered by a score, highest first, updated by deltas. Equal
+ * scores are ordered by the tie-break comparator, which must tell apart any
+ * two distinct entries.
+ *
+ * @param <T> the ranked entry type
+ */
+public final class Leaderboard<T> {
+    private final Map<T, Rank<T>> ranks = new IdentityHashMap<>();
+    private final TreeSet<Rank<T>> order;
+
+    /**
+     * Instantiates a new Leaderboard.
+     *
+     * @param tieBreak the order of entries with equal scores
+     */
+    public Leaderboard(final Comparator<? super T> tieBreak) {
+        order = new TreeSet<>((first, second) -> {
+            int byScore = Integer.compare(second.score, first.score);
+            return byScore != 0 ? byScore : tieBreak.compare(first.entry, second.entry);
+        });
+    }
+
+    /**
+     * Adds an entry, unless it is already ranked.
+     *
+     * @param entry the entry
+     * @param score its current score
+     */
+    public void add(final T entry, final int score) {
+        if (!ranks.containsKey(entry)) {
+            Rank<T> rank = new Rank<>(entry, score);
+            ranks.put(entry, rank);
+            order.add(rank);
+        }
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        Rank<T> rank = ranks.remove(entry);
+        if (rank != null) {
+            order.remove(rank);
+        }
+    }
+
+    /**
+     * Changes the score of a ranked entry. Unranked entries are ignored.
+     *
+     * @param entry the entry
+     * @param delta the score change
+     */
+    public void adjust(final T entry, final int delta) {
+        Rank<T> rank = ranks.get(entry);
+        if (rank == null || delta == 0) {
+            return;
+        }
+
+        order.remove(rank);
+        rank.score += delta;
+        order.add(rank);
+    }
+
+    /**
+     * Gets the score of an entry.
+     *
+     * @param entry the entry
+     * @return the score, or 0 if the entry is not ranked
+     */
+    public int score(final T entry) {
+        Rank<T> rank = ranks.get(entry);
+        return rank == null ? 0 : rank.score;
+    }
+
+    /**
+     * Gets the number of ranked entries.
+     *
+     * @return the size
+     */
+    public int size() {
+        return ranks.size();
+    }
+
+    /**
+     * Gets the best ranked entries.
+     *
+     * @param limit the maximum number of entries
+     * @return the entries, best first
+     */
+    public List<T> top(final int limit) {
+        List<T> top = new ArrayList<>(limit);
+        for (Rank<T> rank : order) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(rank.entry);
+        }
+        return top;
+    }
+
+    /**
+     * Sorts the entries again. Call it after the tie-break order changed.
+     */
+    public void reorder() {
+        List<Rank<T>> all = new ArrayList<>(ranks.values());
+        order.clear();
+        order.addAll(all);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        ranks.clear();
+        order.clear();
+    }
+
+    private static final class Rank<T> {
+        private final T entry;
+        private int score;
+
+        Rank(final T entry, final int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package app.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns the strings songs repeat a lot, such as genres, artists, albums and
+ * tags, as small integer ids, each standing for one canonical string. Every id
+ * also knows the id of its case folded form, so case insensitive equality is an
+ * integer compare.
+ * <p>
+ * Each library catalog owns a table, frozen once the catalog is built. A run
+ * forks it: the fork reads through to the frozen table and holds only the
+ * symbols the run adds, numbered after the base ones, so they go away with the
+ * run. A frozen table can be read from any thread; a fork belongs to its run.
+ */
+public final class SymbolTable {
+    /**
+     * The id standing for null.
+     */
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final SymbolTable base;
+    private final int first;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] folded = new int[INITIAL_CAPACITY];
+    private int size;
+    private boolean frozen;
+
+    /**
+     * Instantiates a new, empty Symbol table.
+     */
+    public SymbolTable() {
+        this.base = null;
+        this.first = 0;
+    }
+
+    private SymbolTable(final SymbolTable base) {
+        this.base = base;
+        this.first = base.first + base.size;
+    }
+
+    /**
+     * Stops the table from taking new symbols, so it can be shared.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Starts a table reading through to this one, which must be frozen.
+     *
+     * @return the fork
+     */
+    public SymbolTable fork() {
+        if (!frozen) {
+            throw new IllegalStateException("Only a frozen symbol table can be forked");
+        }
+        return new SymbolTable(this);
+    }
+
+    /**
+     * Gets the id of a string, adding it if it is new.
+     *
+     * @param text the string
+     * @return the id, or NONE for null
+     */
+    public int intern(final String text) {
+        if (text == null) {
+            return NONE;
+        }
+        Integer id = find(text);
+        return id != null ? id : add(text);
+    }
+
+    private Integer find(final String text) {
+        Integer id = ids.get(text);
+        return id != null || base == null ? id : base.find(text);
+    }
+
+    private int add(final String text) {
+        if (frozen) {
+            throw new IllegalStateException("The symbol table is frozen");
+        }
+
+        String foldedText = TextUtils.foldCase(text);
+        int foldedId = foldedText.equals(text) ? NONE : intern(foldedText);
+        if (size == names.length) {
+            folded = Arrays.copyOf(folded, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+        }
+        int newId = first + size;
+        folded[size] = foldedId == NONE ? newId : foldedId;
+        names[size++] = text;
+        ids.put(text, newId);
+        return newId;
+    }
+
+    /**
+     * Gets the canonical string of an id.
+     *
+     * @param id the id
+     * @return the string, or null for NONE
+     */
+    public String name(final int id) {
+        if (id == NONE) {
+            return null;
+        }
+        return id < first ? base.name(id) : names[id - first];
+    }
+
+    /**
+     * Gets the id of the case folded form of a symbol.
+     *
+     * @param id the id
+     * @return the folded id, or NONE for NONE
+     */
+    public int folded(final int id) {
+        if (id == NONE) {
+            return NONE;
+        }
+        return id < first ? base.folded(id) : folded[id - first];
+    }
+
+    /**
+     * Gets the folded id a string would have, without adding it. A string no symbol
+     * folds to cannot be equal, ignoring case, to any symbol.
+     *
+     * @param text the string
+     * @return the folded id, or NONE if there is none
+     */
+    public int findFolded(final String text) {
+        if (text == null) {
+            return NONE;
+        }
+        Integer id = find(TextUtils.foldCase(text));
+        return id == null ? NONE : id;
+    }
+}
@@ -0,0 +1,22 @@
+package app.utils;
+
+public final class TextUtils {
+    private TextUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Folds the case of a string so that two strings are equal after folding
+     * exactly when they are equal under String.equalsIgnoreCase.
+     *
+     * @param text the text
+     * @return the folded text
+     */
+    public static String foldCase(final String text) {
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(text.charAt(i)));
+        }
+        return new String(folded);
+    }
+}
@@ -0,0 +1,59 @@
+package fileio.input;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reads commands one at a time from either a JSON array or newline-delimited
+ * JSON objects, so only the current command is held in memory.
+ */
+public final class CommandReader implements Closeable {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final boolean wrapped;
+    private JsonToken pending;
+
+    /**
+     * Opens a command file.
+     *
+     * @param objectMapper the mapper binding the commands
+     * @param file         the command file
+     * @throws IOException if the file cannot be read
+     */
+    public CommandReader(final ObjectMapper objectMapper, final File file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(file);
+        JsonToken first = parser.nextToken();
+        this.wrapped = first == JsonToken.START_ARRAY;
+        this.pending = wrapped ? null : first;
+    }
+
+    /**
+     * Reads the next command.
+     *
+     * @return the command, or null once every command was read
+     * @throws IOException if the input is malformed
+     */
+    public CommandInput next() throws IOException {
+        JsonToken token = pending != null ? pending : parser.nextToken();
+        pending = null;
+        if (token == null || (wrapped && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a command object but found " + token
+                    + " at " + parser.getCurrentLocation());
+        }
+        return objectMapper.readValue(parser, CommandInput.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,112 @@
+package fileio.input;
+
+import java.util.Map;
+
+/**
+ * The song index a library snapshot carries, so that loading it does not index
+ * every song again: for each key of each index, the ids of the songs posted under
+ * it. A song id is the position of the song in the library.
+ */
+public final class IndexInput {
+    private Map<String, int[]> names;
+    private Map<String, int[]> albums;
+    private Map<String, int[]> tags;
+    private Map<String, int[]> genres;
+    private Map<String, int[]> artists;
+    private Map<Integer, int[]> years;
+    private Map<Long, int[]> lyrics;
+
+    public IndexInput() {
+    }
+
+    /**
+     * Gets the ids by lowercased song name.
+     *
+     * @return the names
+     */
+    public Map<String, int[]> getNames() {
+        return names;
+    }
+
+    public void setNames(final Map<String, int[]> names) {
+        this.names = names;
+    }
+
+    /**
+     * Gets the ids by case folded album.
+     *
+     * @return the albums
+     */
+    public Map<String, int[]> getAlbums() {
+        return albums;
+    }
+
+    public void setAlbums(final Map<String, int[]> albums) {
+        this.albums = albums;
+    }
+
+    /**
+     * Gets the ids by case folded tag.
+     *
+     * @return the tags
+     */
+    public Map<String, int[]> getTags() {
+        return tags;
+    }
+
+    public void setTags(final Map<String, int[]> tags) {
+        this.tags = tags;
+    }
+
+    /**
+     * Gets the ids by case folded genre.
+     *
+     * @return the genres
+     */
+    public Map<String, int[]> getGenres() {
+        return genres;
+    }
+
+    public void setGenres(final Map<String, int[]> genres) {
+        this.genres = genres;
+    }
+
+    /**
+     * Gets the ids by case folded artist.
+     *
+     * @return the artists
+     */
+    public Map<String, int[]> getArtists() {
+        return artists;
+    }
+
+    public void setArtists(final Map<String, int[]> artists) {
+        this.artists = artists;
+    }
+
+    /**
+     * Gets the ids by release year.
+     *
+     * @return the years
+     */
+    public Map<Integer, int[]> getYears() {
+        return years;
+    }
+
+    public void setYears(final Map<Integer, int[]> years) {
+        this.years = years;
+    }
+
+    /**
+     * Gets the ids by lyrics trigram, as packed by LyricsIndex.
+     *
+     * @return the lyrics
+     */
+    public Map<Long, int[]> getLyrics() {
+        return lyrics;
+    }
+
+    public void setLyrics(final Map<Long, int[]> lyrics) {
+        this.lyrics = lyrics;
+    }
+}
@@ -0,0 +1,40 @@
+package fileio.input;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives a library while LibraryReader reads it, one song at a time, so that
+ * the songs never need to be held in memory together.
+ */
+public interface LibraryHandler {
+    /**
+     * Receives the users.
+     *
+     * @param users the users
+     */
+    void users(List<UserInput> users);
+
+    /**
+     * Receives the podcasts.
+     *
+     * @param podcasts the podcasts
+     */
+    void podcasts(List<PodcastInput> podcasts);
+
+    /**
+     * Tells whether the songs are wanted. If not, they are skipped without
+     * being bound.
+     *
+     * @return the boolean
+     */
+    boolean wantsSongs();
+
+    /**
+     * Receives the next song, in library order.
+     *
+     * @param song the song
+     * @throws IOException if the song cannot be handled
+     */
+    void song(SongInput song) throws IOException;
+}
@@ -1,45 +1,59 @@
-package fileio.input;
-
-import java.util.ArrayList;
-
-public final class LibraryInput {
-    private ArrayList<SongInput> songs;
-    private ArrayList<PodcastInput> podcasts;
-    private ArrayList<UserInput> users;
-
-    public LibraryInput() {
-    }
-
-    public ArrayList<SongInput> getSongs() {
-        return songs;
-    }
-
-    public void setSongs(final ArrayList<SongInput> songs) {
-        this.songs = songs;
-    }
-
-    public ArrayList<PodcastInput> getPodcasts() {
-        return podcasts;
-    }
-
-    public void setPodcasts(final ArrayList<PodcastInput> podcasts) {
-        this.podcasts = podcasts;
-    }
-
-    public ArrayList<UserInput> getUsers() {
-        return users;
-    }
-
-    public void setUsers(final ArrayList<UserInput> users) {
-        this.users = users;
-    }
-
-    @Override
-    public String toString() {
-        return "LibraryInput{"
-                + "songs=" + songs
-                + ", podcasts=" + podcasts
-                + ", users=" + users
-                + '}';
-    }
-}
+package fileio.input;
+
+import java.util.ArrayList;
+
+public final class LibraryInput {
+    private ArrayList<SongInput> songs;
+    private ArrayList<PodcastInput> podcasts;
+    private ArrayList<UserInput> users;
+    private IndexInput index;
+
+    public LibraryInput() {
+    }
+
+    public ArrayList<SongInput> getSongs() {
+        return songs;
+    }
+
+    public void setSongs(final ArrayList<SongInput> songs) {
+        this.songs = songs;
+    }
+
+    public ArrayList<PodcastInput> getPodcasts() {
+        return podcasts;
+    }
+
+    public void setPodcasts(final ArrayList<PodcastInput> podcasts) {
+        this.podcasts = podcasts;
+    }
+
+    public ArrayList<UserInput> getUsers() {
+        return users;
+    }
+
+    public void setUsers(final ArrayList<UserInput> users) {
+        this.users = users;
+    }
+
+    /**
+     * Gets the prebuilt song index, which only snapshots carry.
+     *
+     * @return the index, or null if the songs still need indexing
+     */
+    public IndexInput getIndex() {
+        return index;
+    }
+
+    public void setIndex(final IndexInput index) {
+        this.index = index;
+    }
+
+    @Override
+    public String toString() {
+        return "LibraryInput{"
+                + "songs=" + songs
+                + ", podcasts=" + podcasts
+                + ", users=" + users
+                + '}';
+    }
+}
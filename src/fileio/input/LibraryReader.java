@@ -0,0 +1,77 @@
+package fileio.input;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Streams a library file, JSON or a binary snapshot, to a handler. The users and
+ * podcasts are bound as a whole, while songs are bound and handed over one at a
+ * time.
+ */
+public final class LibraryReader {
+    private LibraryReader() {
+    }
+
+    /**
+     * Reads a library file.
+     *
+     * @param file    the library file
+     * @param handler the handler
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static void read(final File file, final LibraryHandler handler) throws IOException {
+        if (SnapshotReader.isSnapshot(file)) {
+            SnapshotReader.read(file, handler);
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (JsonParser parser = objectMapper.getFactory().createParser(file)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_OBJECT;
+                    token = parser.nextToken()) {
+                expect(parser, token, JsonToken.FIELD_NAME);
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "users" -> handler.users(objectMapper.readValue(parser,
+                            new TypeReference<ArrayList<UserInput>>() { }));
+                    case "podcasts" -> handler.podcasts(objectMapper.readValue(parser,
+                            new TypeReference<ArrayList<PodcastInput>>() { }));
+                    case "songs" -> readSongs(objectMapper, parser, handler);
+                    default -> throw new IOException("Unknown library field " + field
+                            + " at " + parser.getCurrentLocation());
+                }
+            }
+        }
+    }
+
+    private static void readSongs(final ObjectMapper objectMapper, final JsonParser parser,
+                                  final LibraryHandler handler) throws IOException {
+        if (!handler.wantsSongs()) {
+            parser.skipChildren();
+            return;
+        }
+
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY;
+                token = parser.nextToken()) {
+            expect(parser, token, JsonToken.START_OBJECT);
+            handler.song(objectMapper.readValue(parser, SongInput.class));
+        }
+    }
+
+    private static void expect(final JsonParser parser, final JsonToken token,
+                               final JsonToken expected) throws IOException {
+        if (token != expected) {
+            throw new IOException("Expected " + expected + " but found " + token
+                    + " at " + parser.getCurrentLocation());
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package fileio.input;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a library from the binary snapshot written by SnapshotWriter.
+ * <p>
+ * A snapshot is a header (magic, version, payload length and the CRC32 of the
+ * payload) followed by the payload: a dictionary of every distinct string, then
+ * the users, songs and podcasts, and last the prebuilt song index, prefixed by
+ * its length so that a streaming read can skip it; the length is 0 when the
+ * library had no index. Records refer to strings by dictionary index, and every
+ * number is a varint, so reading it is a single pass over the mapped file.
+ * <p>
+ * The index holds the keys SongIndex derives from the songs, so any change to
+ * how songs are indexed needs a new version too.
+ */
+public final class SnapshotReader {
+    /**
+     * The first bytes of every snapshot.
+     */
+    public static final int MAGIC = 0x4C494253;
+    /**
+     * The format version, increased on every incompatible change.
+     */
+    public static final short VERSION = 4;
+    /**
+     * The size of the header: magic, version, payload length and checksum.
+     */
+    public static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES
+            + Integer.BYTES;
+
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_MORE = 0x80;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final ByteBuffer data;
+    private final boolean shareStrings;
+    private int position;
+    private int[] offsets;
+    private String[] strings;
+    private IndexInput index;
+
+    private SnapshotReader(final ByteBuffer data, final boolean shareStrings) {
+        this.data = data;
+        this.shareStrings = shareStrings;
+    }
+
+    /**
+     * Checks whether a file starts like a snapshot.
+     *
+     * @param file the file
+     * @return whether it is a snapshot
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isSnapshot(final File file) throws IOException {
+        if (file.length() < HEADER_SIZE) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Reads a library snapshot.
+     *
+     * @param file the snapshot file
+     * @return the library
+     * @throws IOException if the file cannot be read, is not a snapshot of this
+     *                     version or is corrupted
+     */
+    public static LibraryInput read(final File file) throws IOException {
+        LibraryInput library = new LibraryInput();
+        ArrayList<SongInput> songs = new ArrayList<>();
+        SnapshotReader reader = open(file, true);
+        reader.readLibrary(new LibraryHandler() {
+            @Override
+            public void users(final List<UserInput> users) {
+                library.setUsers(new ArrayList<>(users));
+            }
+
+            @Override
+            public void podcasts(final List<PodcastInput> podcasts) {
+                library.setPodcasts(new ArrayList<>(podcasts));
+            }
+
+            @Override
+            public boolean wantsSongs() {
+                return true;
+            }
+
+            @Override
+            public void song(final SongInput song) {
+                songs.add(song);
+            }
+        });
+        library.setSongs(songs);
+        library.setIndex(reader.index);
+        return library;
+    }
+
+    /**
+     * Streams a library snapshot to a handler. The file is mapped rather than read
+     * into memory, strings are decoded only as songs are handed over and the
+     * prebuilt index is skipped.
+     *
+     * @param file    the snapshot file
+     * @param handler the handler
+     * @throws IOException if the file cannot be read, is not a snapshot of this
+     *                     version or is corrupted
+     */
+    public static void read(final File file, final LibraryHandler handler) throws IOException {
+        open(file, false).readLibrary(handler);
+    }
+
+    /**
+     * Maps a snapshot and checks its header and checksum.
+     *
+     * @param shareStrings whether each dictionary string is decoded once and shared
+     */
+    private static SnapshotReader open(final File file, final boolean shareStrings)
+            throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Library snapshot larger than one mapping: " + file);
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.capacity() < HEADER_SIZE) {
+            throw new IOException("Truncated library snapshot " + file);
+        }
+
+        if (data.getInt(0) != MAGIC) {
+            throw new IOException("Not a library snapshot: " + file);
+        }
+        short version = data.getShort(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IOException("Unsupported library snapshot version " + version);
+        }
+        int length = data.getInt(Integer.BYTES + Short.BYTES);
+        int checksum = data.getInt(Integer.BYTES + Short.BYTES + Integer.BYTES);
+        if (length != data.capacity() - HEADER_SIZE) {
+            throw new IOException("Truncated library snapshot " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data.slice(HEADER_SIZE, length));
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Corrupted library snapshot " + file);
+        }
+
+        SnapshotReader reader = new SnapshotReader(data, shareStrings);
+        reader.position = HEADER_SIZE;
+        return reader;
+    }
+
+    private void readLibrary(final LibraryHandler handler) throws IOException {
+        offsets = new int[readVarint()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = position;
+            int size = readVarint();
+            checkAvailable(size);
+            position += size;
+        }
+        if (shareStrings) {
+            strings = new String[offsets.length];
+        }
+
+        int userCount = readVarint();
+        List<UserInput> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            UserInput user = new UserInput();
+            user.setUsername(readString());
+            user.setAge(readVarint());
+            user.setCity(readString());
+            users.add(user);
+        }
+        handler.users(users);
+
+        boolean wantsSongs = handler.wantsSongs();
+        int songCount = readVarint();
+        for (int i = 0; i < songCount; i++) {
+            if (wantsSongs) {
+                handler.song(readSong());
+            } else {
+                skipSong();
+            }
+        }
+
+        int podcastCount = readVarint();
+        List<PodcastInput> podcasts = new ArrayList<>(podcastCount);
+        for (int i = 0; i < podcastCount; i++) {
+            PodcastInput podcast = new PodcastInput();
+            podcast.setName(readString());
+            podcast.setOwner(readString());
+            int episodeCount = readVarint();
+            ArrayList<EpisodeInput> episodes = new ArrayList<>(episodeCount);
+            for (int j = 0; j < episodeCount; j++) {
+                EpisodeInput episode = new EpisodeInput();
+                episode.setName(readString());
+                episode.setDuration(readNullable());
+                episode.setDescription(readString());
+                episodes.add(episode);
+            }
+            podcast.setEpisodes(episodes);
+            podcasts.add(podcast);
+        }
+        handler.podcasts(podcasts);
+
+        int indexSize = readVarint();
+        checkAvailable(indexSize);
+        if (shareStrings && indexSize > 0) {
+            int end = position + indexSize;
+            index = readIndex(songCount);
+            if (position != end) {
+                throw new IOException("Malformed index in library snapshot");
+            }
+        } else {
+            position += indexSize;
+        }
+
+        if (position != data.capacity()) {
+            throw new IOException("Trailing bytes in library snapshot");
+        }
+    }
+
+    private SongInput readSong() throws IOException {
+        SongInput song = new SongInput();
+        song.setName(readString());
+        song.setDuration(readNullable());
+        song.setAlbum(readString());
+        int tagCount = readVarint();
+        ArrayList<String> tags = new ArrayList<>(tagCount);
+        for (int j = 0; j < tagCount; j++) {
+            tags.add(readString());
+        }
+        song.setTags(tags);
+        song.setLyrics(readString());
+        song.setGenre(readString());
+        song.setReleaseYear(readNullable());
+        song.setArtist(readString());
+        return song;
+    }
+
+    private IndexInput readIndex(final int songCount) throws IOException {
+        IndexInput input = new IndexInput();
+        input.setNames(readTable(songCount, this::readString));
+        input.setAlbums(readTable(songCount, this::readString));
+        input.setTags(readTable(songCount, this::readString));
+        input.setGenres(readTable(songCount, this::readString));
+        input.setArtists(readTable(songCount, this::readString));
+        input.setYears(readTable(songCount, () -> {
+            long year = zigzag(readVarlong());
+            if (year != (int) year) {
+                throw new IOException("Number out of range in library snapshot");
+            }
+            return (int) year;
+        }));
+        input.setLyrics(readTable(songCount, this::readVarlong));
+        return input;
+    }
+
+    /**
+     * Reads one index table, checking that every key is set and every id names a
+     * song of the snapshot.
+     */
+    private <K> Map<K, int[]> readTable(final int songCount, final KeyReader<K> readKey)
+            throws IOException {
+        int keyCount = readVarint();
+        checkAvailable(keyCount);
+        Map<K, int[]> table = new HashMap<>();
+        for (int i = 0; i < keyCount; i++) {
+            K key = readKey.read();
+            int idCount = readVarint();
+            checkAvailable(idCount);
+            int[] ids = new int[idCount];
+            int id = -1;
+            for (int j = 0; j < idCount; j++) {
+                int delta = readVarint();
+                long next = j == 0 ? delta : (long) id + delta;
+                if (delta < 0 || j > 0 && delta == 0 || next >= songCount) {
+                    throw new IOException("Song id out of range in library snapshot index");
+                }
+                id = (int) next;
+                ids[j] = id;
+            }
+            if (key == null || idCount == 0 || table.put(key, ids) != null) {
+                throw new IOException("Malformed index in library snapshot");
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Reads the key of an index entry.
+     *
+     * @param <K> the key type
+     */
+    @FunctionalInterface
+    private interface KeyReader<K> {
+        K read() throws IOException;
+    }
+
+    /**
+     * Moves past a song record without decoding its strings.
+     */
+    private void skipSong() throws IOException {
+        readVarint();
+        readVarlong();
+        readVarint();
+        int tagCount = readVarint();
+        for (int j = 0; j < tagCount; j++) {
+            readVarint();
+        }
+        readVarint();
+        readVarint();
+        readVarlong();
+        readVarint();
+    }
+
+    /**
+     * Reads a dictionary reference; 0 stands for null.
+     */
+    private String readString() throws IOException {
+        int index = readVarint();
+        if (index < 0 || index > offsets.length) {
+            throw new IOException("Unknown string " + index + " in library snapshot");
+        }
+        if (index == 0) {
+            return null;
+        }
+        if (strings != null && strings[index - 1] != null) {
+            return strings[index - 1];
+        }
+
+        int saved = position;
+        position = offsets[index - 1];
+        int size = readVarint();
+        byte[] bytes = new byte[size];
+        data.get(position, bytes);
+        position = saved;
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        if (strings != null) {
+            strings[index - 1] = value;
+        }
+        return value;
+    }
+    /**
+     * Reads a number that may be null, zigzag encoded as a long and stored
+     * shifted by one.
+     */
+    private Integer readNullable() throws IOException {
+        long value = readVarlong();
+        if (value == 0) {
+            return null;
+        }
+        long decoded = zigzag(value - 1);
+        if (decoded != (int) decoded) {
+            throw new IOException("Number out of range in library snapshot");
+        }
+        return (int) decoded;
+    }
+
+    private static long zigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += VARINT_BITS) {
+            checkAvailable(1);
+            int next = data.get(position++) & BYTE_MASK;
+            value |= (next & VARINT_MASK) << shift;
+            if ((next & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in library snapshot");
+    }
+
+    private long readVarlong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARINT_BITS) {
+            checkAvailable(1);
+            int next = data.get(position++) & BYTE_MASK;
+            value |= (long) (next & VARINT_MASK) << shift;
+            if ((next & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in library snapshot");
+    }
+
+    private void checkAvailable(final int size) throws IOException {
+        if (size < 0 || size > data.capacity() - position) {
+            throw new IOException("Truncated library snapshot");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes command results to a JSON array as they are produced, instead of
+ * collecting them first. Pretty printed output is byte for byte what writing
+ * the whole array with the default pretty printer gives.
+ */
+public final class ResultWriter implements Closeable {
+    private final JsonGenerator generator;
+
+    /**
+     * Opens the output file and starts the array.
+     *
+     * @param objectMapper the mapper serializing the results
+     * @param file         the output file
+     * @param pretty       whether to indent the output; compact output skips it
+     * @throws IOException if the file cannot be written
+     */
+    public ResultWriter(final ObjectMapper objectMapper, final File file, final boolean pretty)
+            throws IOException {
+        ObjectWriter writer = pretty ? objectMapper.writerWithDefaultPrettyPrinter()
+                : objectMapper.writer();
+        generator = writer.createGenerator(new BufferedOutputStream(new FileOutputStream(file)));
+        generator.writeStartArray();
+    }
+
+    /**
+     * Writes the result of a command.
+     *
+     * @param result the result
+     * @throws IOException if the file cannot be written
+     */
+    public void write(final JsonNode result) throws IOException {
+        generator.writeTree(result);
+    }
+
+    /**
+     * Ends the array and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -0,0 +1,195 @@
+package fileio.output;
+
+import fileio.input.EpisodeInput;
+import fileio.input.IndexInput;
+import fileio.input.LibraryInput;
+import fileio.input.PodcastInput;
+import fileio.input.SnapshotReader;
+import fileio.input.SongInput;
+import fileio.input.UserInput;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a library as a binary snapshot; see SnapshotReader for the format.
+ * Repeated strings, such as genres, artists and album names, are stored once.
+ * The song index is written too when the library carries one.
+ */
+public final class SnapshotWriter {
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_MORE = 0x80;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+
+    private SnapshotWriter() {
+    }
+
+    /**
+     * Writes a library snapshot.
+     *
+     * @param library the library
+     * @param file    the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(final LibraryInput library, final File file) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.writeLibrary(library);
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(writer.dictionary.size()
+                + writer.records.size() + Integer.BYTES);
+        writeVarint(payload, writer.indexes.size());
+        writer.dictionary.writeTo(payload);
+        writer.records.writeTo(payload);
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(SnapshotReader.MAGIC);
+            out.writeShort(SnapshotReader.VERSION);
+            out.writeInt(bytes.length);
+            out.writeInt((int) crc.getValue());
+            out.write(bytes);
+        }
+    }
+
+    private void writeLibrary(final LibraryInput library) {
+        writeVarint(records, library.getUsers().size());
+        for (UserInput user : library.getUsers()) {
+            writeString(user.getUsername());
+            writeVarint(records, user.getAge());
+            writeString(user.getCity());
+        }
+
+        writeVarint(records, library.getSongs().size());
+        for (SongInput song : library.getSongs()) {
+            writeString(song.getName());
+            writeNullable(song.getDuration());
+            writeString(song.getAlbum());
+            writeVarint(records, song.getTags().size());
+            for (String tag : song.getTags()) {
+                writeString(tag);
+            }
+            writeString(song.getLyrics());
+            writeString(song.getGenre());
+            writeNullable(song.getReleaseYear());
+            writeString(song.getArtist());
+        }
+
+        writeVarint(records, library.getPodcasts().size());
+        for (PodcastInput podcast : library.getPodcasts()) {
+            writeString(podcast.getName());
+            writeString(podcast.getOwner());
+            writeVarint(records, podcast.getEpisodes().size());
+            for (EpisodeInput episode : podcast.getEpisodes()) {
+                writeString(episode.getName());
+                writeNullable(episode.getDuration());
+                writeString(episode.getDescription());
+            }
+        }
+
+        ByteArrayOutputStream section = new ByteArrayOutputStream();
+        if (library.getIndex() != null) {
+            writeIndex(section, library.getIndex());
+        }
+        writeVarint(records, section.size());
+        records.writeBytes(section.toByteArray());
+    }
+
+    /**
+     * Writes the index tables in a fixed order. Each one is its key count, then
+     * per key the key, the id count and the ids as increasing deltas.
+     */
+    private void writeIndex(final ByteArrayOutputStream out, final IndexInput index) {
+        for (Map<String, int[]> table : List.of(index.getNames(), index.getAlbums(),
+                index.getTags(), index.getGenres(), index.getArtists())) {
+            writeTable(out, table, (key, stream) -> writeString(stream, key));
+        }
+        writeTable(out, index.getYears(),
+                (key, stream) -> writeVarlong(stream, zigzag((long) key)));
+        writeTable(out, index.getLyrics(), (key, stream) -> writeVarlong(stream, key));
+    }
+
+    private static <K> void writeTable(final ByteArrayOutputStream out,
+                                       final Map<K, int[]> table,
+                                       final BiConsumer<K, ByteArrayOutputStream> writeKey) {
+        writeVarint(out, table.size());
+        for (Map.Entry<K, int[]> entry : table.entrySet()) {
+            writeKey.accept(entry.getKey(), out);
+            int[] ids = entry.getValue();
+            writeVarint(out, ids.length);
+            int previous = 0;
+            for (int id : ids) {
+                writeVarint(out, id - previous);
+                previous = id;
+            }
+        }
+    }
+
+    /**
+     * Writes a dictionary reference, adding the string on first use; 0 stands for null.
+     */
+    private void writeString(final String value) {
+        writeString(records, value);
+    }
+
+    private void writeString(final ByteArrayOutputStream out, final String value) {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+
+        Integer index = indexes.get(value);
+        if (index == null) {
+            index = indexes.size() + 1;
+            indexes.put(value, index);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(dictionary, bytes.length);
+            dictionary.write(bytes, 0, bytes.length);
+        }
+        writeVarint(out, index);
+    }
+
+    /**
+     * Writes a number that may be null. It is zigzag encoded as a long and shifted
+     * by one, so that 0 stays free for null even for Integer.MIN_VALUE.
+     */
+    private void writeNullable(final Integer value) {
+        writeVarlong(records, value == null ? 0 : zigzag((long) value) + 1);
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+
+    /**
+     * Writes an int as an unsigned varint.
+     */
+    private static void writeVarint(final ByteArrayOutputStream out, final int value) {
+        writeVarlong(out, Integer.toUnsignedLong(value));
+    }
+
+    private static void writeVarlong(final ByteArrayOutputStream out, final long value) {
+        long rest = value;
+        while ((rest & ~VARINT_MASK) != 0) {
+            out.write((int) (rest & VARINT_MASK) | VARINT_MORE);
+            rest >>>= VARINT_BITS;
+        }
+        out.write((int) rest);
+    }
+}
@@ -0,0 +1,109 @@
+package main;
+
+import app.Admin;
+import app.Leaderboards;
+import app.user.Account;
+import app.user.Artist;
+import app.utils.Constants;
+import app.utils.Enums;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Use this to check that the order of tied top artists still matches the iteration
+ * order of a java.util.HashMap keyed by username, which Leaderboards reproduces.
+ * Exits with status 1 on the first difference.
+ */
+public final class ArtistOrderCheck {
+    private static final int DEFAULT_ROUNDS = 200;
+    private static final int MAX_ARTISTS = 400;
+    private static final int MAX_NAME_LENGTH = 12;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz0123456789_";
+
+    /**
+     * for coding style
+     */
+    private ArtistOrderCheck() {
+    }
+
+    /**
+     * Registers random artists, then reads the top artists and drops them until
+     * none are left, removing a random artist along the way, and compares every
+     * top with the first keys of a HashMap filled with the artists left.
+     *
+     * @param args optionally, the number of rounds and the random seed
+     */
+    public static void main(final String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+        Random random = new Random(args.length > 1 ? Long.parseLong(args[1]) : 0);
+        Admin admin = new Admin();
+
+        for (int round = 0; round < rounds; round++) {
+            Leaderboards leaderboards = new Leaderboards();
+            List<Account> registered = new ArrayList<>();
+            int count = random.nextInt(MAX_ARTISTS) + 1;
+            for (int i = 0; i < count; i++) {
+                Account artist = new Account(new Artist(admin, name(random, i), 0, ""),
+                                             Enums.AccountType.ARTIST, i);
+                registered.add(artist);
+                leaderboards.addArtist(artist);
+            }
+
+            while (!registered.isEmpty()) {
+                List<String> expected = hashMapOrder(registered);
+                List<String> actual = leaderboards.topArtists();
+                if (!actual.equals(expected)) {
+                    System.out.printf("round %d, %d artists: expected %s, got %s%n",
+                                      round, registered.size(), expected, actual);
+                    System.exit(1);
+                }
+
+                List<Account> dropped = new ArrayList<>();
+                for (Account artist : registered) {
+                    if (actual.contains(artist.getUser().getUsername())) {
+                        dropped.add(artist);
+                    }
+                }
+                if (registered.size() > dropped.size()) {
+                    Account artist = registered.get(random.nextInt(registered.size()));
+                    if (!dropped.contains(artist)) {
+                        dropped.add(artist);
+                    }
+                }
+                for (Account artist : dropped) {
+                    registered.remove(artist);
+                    leaderboards.removeArtist(artist);
+                }
+            }
+        }
+        System.out.printf("artist order matches HashMap in %d rounds%n", rounds);
+    }
+
+    /**
+     * Gets the first usernames a HashMap filled in registration order iterates.
+     */
+    private static List<String> hashMapOrder(final List<Account> registered) {
+        Map<String, Integer> likes = new HashMap<>();
+        for (Account artist : registered) {
+            likes.put(artist.getUser().getUsername(), 0);
+        }
+        List<String> order = new ArrayList<>(likes.keySet());
+        return order.subList(0, Math.min(Constants.LIMIT, order.size()));
+    }
+
+    /**
+     * Makes a random username, made unique by its index.
+     */
+    private static String name(final Random random, final int index) {
+        StringBuilder name = new StringBuilder();
+        int length = random.nextInt(MAX_NAME_LENGTH) + 1;
+        for (int i = 0; i < length; i++) {
+            name.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return name.append(index).toString();
+    }
+}
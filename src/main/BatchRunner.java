@@ -0,0 +1,108 @@
+package main;
+
+import app.Admin;
+import checker.Checker;
+import checker.CheckerConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Use this to replay many input files at once: each one runs in its own simulation,
+ * on a thread pool as large as the machine.
+ */
+public final class BatchRunner {
+    /**
+     * for coding style
+     */
+    private BatchRunner() {
+    }
+
+    /**
+     * Replays every test like Main does, but side by side, then calls the checker.
+     *
+     * @param args optionally, the number of threads
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        File directory = new File(CheckerConstants.TESTS_PATH);
+        Path path = Paths.get(CheckerConstants.RESULT_PATH);
+
+        if (Files.exists(path)) {
+            File resultFile = new File(String.valueOf(path));
+            for (File file : Objects.requireNonNull(resultFile.listFiles())) {
+                file.delete();
+            }
+            resultFile.delete();
+        }
+        Files.createDirectories(path);
+
+        Map<String, String> files = new LinkedHashMap<>();
+        for (File file : Objects.requireNonNull(directory.listFiles())) {
+            if (file.getName().startsWith("library")) {
+                continue;
+            }
+
+            String filepath = CheckerConstants.OUT_PATH + file.getName();
+            if (new File(filepath).createNewFile()) {
+                files.put(file.getName(), filepath);
+            }
+        }
+
+        run(files, threads);
+        Checker.calculateScore();
+    }
+
+    /**
+     * Replays independent input files, each in a new simulation.
+     *
+     * @param files   the output file of each input file
+     * @param threads the number of files replayed at the same time
+     * @throws IOException if any replay fails to read or write
+     */
+    public static void run(final Map<String, String> files, final int threads)
+            throws IOException {
+        boolean pretty = !Boolean.getBoolean("output.compact");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> replays = new ArrayList<>();
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                replays.add(pool.submit(() -> {
+                    Main.action(new Admin(), file.getKey(), file.getValue(), pretty);
+                    return null;
+                }));
+            }
+
+            for (Future<?> replay : replays) {
+                try {
+                    replay.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while replaying");
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException cause) {
+                        throw cause;
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
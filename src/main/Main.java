@@ -2,13 +2,14 @@ package main;
 
 import app.Admin;
 import app.CommandRunner;
+import app.LibraryCatalog;
 import checker.Checker;
 import checker.CheckerConstants;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import fileio.input.CommandInput;
-import fileio.input.LibraryInput;
+import fileio.input.CommandReader;
+import fileio.output.ResultWriter;
 
 import java.io.File;
 import java.io.IOException;
@@ -69,75 +70,111 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
+        action(filePath1, filePath2, !Boolean.getBoolean("output.compact"));
+    }
+
+    /**
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param pretty    whether to pretty print the output
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final String filePath1, final String filePath2,
+                              final boolean pretty) throws IOException {
+        action(Admin.getInstance(), filePath1, filePath2, pretty);
+    }
+
+    /**
+     * Replays a command file in the given simulation, which is reset afterwards.
+     *
+     * @param admin     the simulation to run in
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param pretty    whether to pretty print the output
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final Admin admin, final String filePath1,
+                              final String filePath2, final boolean pretty) throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
-        LibraryInput library = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                                                               + "library/library.json"),
-                                                               LibraryInput.class);
-        CommandInput[] commands = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                                                                  + filePath1),
-                                                                  CommandInput[].class);
-        ArrayNode outputs = objectMapper.createArrayNode();
-
-        Admin.getInstance().setUsers(library.getUsers());
-        Admin.getInstance().setSongs(library.getSongs());
-        Admin.getInstance().setPodcasts(library.getPodcasts());
-
-        for (CommandInput command : commands) {
-            Admin.getInstance().updateTimestamp(command.getTimestamp());
-
-            String commandName = command.getCommand();
-
-            switch (commandName) {
-                case "search" -> outputs.add(CommandRunner.search(command));
-                case "select" -> outputs.add(CommandRunner.select(command));
-                case "load" -> outputs.add(CommandRunner.load(command));
-                case "playPause" -> outputs.add(CommandRunner.playPause(command));
-                case "repeat" -> outputs.add(CommandRunner.repeat(command));
-                case "shuffle" -> outputs.add(CommandRunner.shuffle(command));
-                case "forward" -> outputs.add(CommandRunner.forward(command));
-                case "backward" -> outputs.add(CommandRunner.backward(command));
-                case "like" -> outputs.add(CommandRunner.like(command));
-                case "next" -> outputs.add(CommandRunner.next(command));
-                case "prev" -> outputs.add(CommandRunner.prev(command));
-                case "createPlaylist" -> outputs.add(CommandRunner.createPlaylist(command));
-                case "addRemoveInPlaylist" ->
-                        outputs.add(CommandRunner.addRemoveInPlaylist(command));
-                case "switchVisibility" -> outputs.add(CommandRunner.switchVisibility(command));
-                case "showPlaylists" -> outputs.add(CommandRunner.showPlaylists(command));
-                case "follow" -> outputs.add(CommandRunner.follow(command));
-                case "status" -> outputs.add(CommandRunner.status(command));
-                case "showPreferredSongs" -> outputs.add(CommandRunner.showLikedSongs(command));
-                case "getPreferredGenre" -> outputs.add(CommandRunner.getPreferredGenre(command));
-                case "getTop5Songs" -> outputs.add(CommandRunner.getTop5Songs(command));
-                case "getTop5Playlists" -> outputs.add(CommandRunner.getTop5Playlists(command));
-                case "switchConnectionStatus" ->
-                        outputs.add(CommandRunner.switchConnectionStatus(command));
-                case "getOnlineUsers" -> outputs.add(CommandRunner.getOnlineUsers(command));
-                case "addUser" -> outputs.add(CommandRunner.addUser(command));
-                case "addAlbum" -> outputs.add(CommandRunner.addAlbum(command));
-                case "showAlbums" -> outputs.add(CommandRunner.showAlbums(command));
-                case "printCurrentPage" -> outputs.add(CommandRunner.printCurrentPage(command));
-                case "addEvent" -> outputs.add(CommandRunner.addEvent(command));
-                case "addMerch" -> outputs.add(CommandRunner.addMerch(command));
-                case "getAllUsers" -> outputs.add(CommandRunner.getAllUsers(command));
-                case "deleteUser" -> outputs.add(CommandRunner.deleteUser(command));
-                case "addPodcast" -> outputs.add(CommandRunner.addAPodcast(command));
-                case "addAnnouncement" -> outputs.add(CommandRunner.addAnnouncement(command));
-                case "removeAnnouncement" -> outputs.add(CommandRunner.removeAnnouncement(command));
-                case "showPodcasts" -> outputs.add(CommandRunner.showPodcasts(command));
-                case "removeAlbum" -> outputs.add(CommandRunner.removeAlbum(command));
-                case "changePage" -> outputs.add(CommandRunner.changePage(command));
-                case "removePodcast" -> outputs.add(CommandRunner.removePodcast(command));
-                case "removeEvent" -> outputs.add(CommandRunner.removeEvent(command));
-                case "getTop5Albums" -> outputs.add(CommandRunner.getTop5Albums(command));
-                case "getTop5Artists" -> outputs.add(CommandRunner.getTop5Artists(command));
-                default -> System.out.println("Invalid command " + commandName);
+        admin.load(LibraryCatalog.load(new File(CheckerConstants.TESTS_PATH
+                                                + "library/library.json")));
+        CommandRunner runner = new CommandRunner(admin);
+
+        try (CommandReader commands = new CommandReader(objectMapper,
+                new File(CheckerConstants.TESTS_PATH + filePath1));
+             ResultWriter results = new ResultWriter(objectMapper, new File(filePath2), pretty)) {
+            for (CommandInput command = commands.next(); command != null;
+                    command = commands.next()) {
+                ObjectNode result = dispatch(admin, runner, command);
+                if (result != null) {
+                    results.write(result);
+                }
             }
         }
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), outputs);
+        admin.reset();
+    }
+
+    /**
+     * Runs a command as soon as it was read.
+     *
+     * @param admin   the simulation
+     * @param runner  the command runner of the simulation
+     * @param command the command
+     * @return the result, or null for an unknown command
+     */
+    private static ObjectNode dispatch(final Admin admin, final CommandRunner runner,
+                                       final CommandInput command) {
+        admin.updateTimestamp(command.getTimestamp());
 
-        Admin.getInstance().reset();
+        String commandName = command.getCommand();
+
+        return switch (commandName) {
+            case "search" -> runner.search(command);
+            case "select" -> runner.select(command);
+            case "load" -> runner.load(command);
+            case "playPause" -> runner.playPause(command);
+            case "repeat" -> runner.repeat(command);
+            case "shuffle" -> runner.shuffle(command);
+            case "forward" -> runner.forward(command);
+            case "backward" -> runner.backward(command);
+            case "like" -> runner.like(command);
+            case "next" -> runner.next(command);
+            case "prev" -> runner.prev(command);
+            case "createPlaylist" -> runner.createPlaylist(command);
+            case "addRemoveInPlaylist" -> runner.addRemoveInPlaylist(command);
+            case "switchVisibility" -> runner.switchVisibility(command);
+            case "showPlaylists" -> runner.showPlaylists(command);
+            case "follow" -> runner.follow(command);
+            case "status" -> runner.status(command);
+            case "showPreferredSongs" -> runner.showLikedSongs(command);
+            case "getPreferredGenre" -> runner.getPreferredGenre(command);
+            case "getTop5Songs" -> runner.getTop5Songs(command);
+            case "getTop5Playlists" -> runner.getTop5Playlists(command);
+            case "switchConnectionStatus" -> runner.switchConnectionStatus(command);
+            case "getOnlineUsers" -> runner.getOnlineUsers(command);
+            case "addUser" -> runner.addUser(command);
+            case "addAlbum" -> runner.addAlbum(command);
+            case "showAlbums" -> runner.showAlbums(command);
+            case "printCurrentPage" -> runner.printCurrentPage(command);
+            case "addEvent" -> runner.addEvent(command);
+            case "addMerch" -> runner.addMerch(command);
+            case "getAllUsers" -> runner.getAllUsers(command);
+            case "deleteUser" -> runner.deleteUser(command);
+            case "addPodcast" -> runner.addAPodcast(command);
+            case "addAnnouncement" -> runner.addAnnouncement(command);
+            case "removeAnnouncement" -> runner.removeAnnouncement(command);
+            case "showPodcasts" -> runner.showPodcasts(command);
+            case "removeAlbum" -> runner.removeAlbum(command);
+            case "changePage" -> runner.changePage(command);
+            case "removePodcast" -> runner.removePodcast(command);
+            case "removeEvent" -> runner.removeEvent(command);
+            case "getTop5Albums" -> runner.getTop5Albums(command);
+            case "getTop5Artists" -> runner.getTop5Artists(command);
+            default -> {
+                System.out.println("Invalid command " + commandName);
+                yield null;
+            }
+        };
     }
 }
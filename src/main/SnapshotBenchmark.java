@@ -0,0 +1,64 @@
+package main;
+
+import app.Admin;
+import app.LibraryCatalog;
+import checker.CheckerConstants;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Use this to compare rebuilding a simulation from a JSON library and from a
+ * binary snapshot of it.
+ */
+public final class SnapshotBenchmark {
+    private static final int DEFAULT_ROUNDS = 20;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * for coding style
+     */
+    private SnapshotBenchmark() {
+    }
+
+    /**
+     * Writes a snapshot of the library to a temporary file, then times parsing,
+     * indexing and loading each format into a new Admin.
+     *
+     * @param args optionally, the library file and the number of rounds
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        File json = new File(args.length > 0 ? args[0]
+                : CheckerConstants.TESTS_PATH + "library/library.json");
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        File snapshot = File.createTempFile("library", ".snapshot");
+        snapshot.deleteOnExit();
+
+        SnapshotExporter.export(json, snapshot);
+        System.out.printf("json %d bytes, snapshot %d bytes%n", json.length(),
+                snapshot.length());
+
+        rebuild(json, rounds);
+        rebuild(snapshot, rounds);
+        long jsonTime = rebuild(json, rounds);
+        long snapshotTime = rebuild(snapshot, rounds);
+
+        System.out.printf("json %.2f ms, snapshot %.2f ms per rebuild (%.1fx)%n",
+                jsonTime / NANOS_PER_MILLI / rounds, snapshotTime / NANOS_PER_MILLI / rounds,
+                (double) jsonTime / snapshotTime);
+    }
+
+    /**
+     * Builds a new catalog from the file and loads it into a new Admin, repeatedly.
+     *
+     * @return the total time, in nanoseconds
+     */
+    private static long rebuild(final File file, final int rounds) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            new Admin().load(LibraryCatalog.read(file));
+        }
+        return System.nanoTime() - start;
+    }
+}
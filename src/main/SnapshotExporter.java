@@ -0,0 +1,52 @@
+package main;
+
+import app.LibraryCatalog;
+import checker.CheckerConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.LibraryInput;
+import fileio.output.SnapshotWriter;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Use this to turn a JSON library into a binary snapshot that LibraryCatalog can
+ * load instead. The snapshot carries the song index, so loading it skips indexing.
+ */
+public final class SnapshotExporter {
+    /**
+     * for coding style
+     */
+    private SnapshotExporter() {
+    }
+
+    /**
+     * Writes the snapshot of a library.
+     *
+     * @param args optionally, the JSON library and the snapshot file; the snapshot
+     *             defaults to the library path followed by ".snapshot"
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        File json = new File(args.length > 0 ? args[0]
+                : CheckerConstants.TESTS_PATH + "library/library.json");
+        File snapshot = new File(args.length > 1 ? args[1] : json.getPath() + ".snapshot");
+
+        export(json, snapshot);
+        System.out.printf("wrote %s, %d bytes (json %d bytes)%n", snapshot, snapshot.length(),
+                json.length());
+    }
+
+    /**
+     * Writes the snapshot of a JSON library, song index included.
+     *
+     * @param json     the JSON library
+     * @param snapshot the snapshot file
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void export(final File json, final File snapshot) throws IOException {
+        LibraryInput library = new ObjectMapper().readValue(json, LibraryInput.class);
+        library.setIndex(LibraryCatalog.indexOf(library));
+        SnapshotWriter.write(library, snapshot);
+    }
+}